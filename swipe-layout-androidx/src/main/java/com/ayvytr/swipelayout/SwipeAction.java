@@ -0,0 +1,203 @@
+package com.ayvytr.swipelayout;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+
+/**
+ * A menu action drawn by {@link SwipeLayout} on its own canvas, instead of a menu child view.
+ * Declared in code or in an xml resource of {@code <action>} items, see
+ * {@code app:leftActions}/{@code app:rightActions}.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public class SwipeAction {
+    private final int id;
+    private Drawable icon;
+    private CharSequence label;
+    @ColorInt
+    private int color;
+    @ColorInt
+    private int textColor = Color.WHITE;
+    @ColorInt
+    private int iconTint;
+    @Px
+    private int width;
+    /**
+     * Resource of {@link #icon} if inflated from xml, 0 otherwise
+     */
+    int iconRes;
+    /**
+     * Key of the last {@link SwipeActionAtlas} lookup
+     */
+    SwipeActionAtlas.Key atlasKey;
+
+    /**
+     * {@link #icon} with {@link #iconTint} applied, created on first draw
+     */
+    private Drawable tintedIcon;
+    /**
+     * {@link #label} ellipsized to fit {@link #labelLayoutWidth} at {@link #labelLayoutTextSize}
+     */
+    private CharSequence labelLayout;
+    private float labelLayoutWidth;
+    private float labelLayoutTextSize;
+    private float labelWidth;
+
+    /**
+     * @param id    reported to {@link SwipeLayout.OnActionClickListener}, {@link View#NO_ID} if
+     *              not needed
+     * @param color background color
+     * @param width pixels
+     */
+    public SwipeAction(int id, @Nullable Drawable icon, @Nullable CharSequence label,
+                       @ColorInt int color, @Px int width) {
+        this.id = id;
+        this.icon = icon;
+        this.label = label;
+        this.color = color;
+        this.width = width;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Nullable
+    public Drawable getIcon() {
+        return icon;
+    }
+
+    public void setIcon(@Nullable Drawable icon) {
+        this.icon = icon;
+        iconRes = 0;
+        tintedIcon = null;
+    }
+
+    @Nullable
+    public CharSequence getLabel() {
+        return label;
+    }
+
+    public void setLabel(@Nullable CharSequence label) {
+        this.label = label;
+        labelLayout = null;
+    }
+
+    @ColorInt
+    public int getColor() {
+        return color;
+    }
+
+    public void setColor(@ColorInt int color) {
+        this.color = color;
+    }
+
+    @ColorInt
+    public int getTextColor() {
+        return textColor;
+    }
+
+    /**
+     * Default is white.
+     */
+    public void setTextColor(@ColorInt int textColor) {
+        this.textColor = textColor;
+    }
+
+    @ColorInt
+    public int getIconTint() {
+        return iconTint;
+    }
+
+    /**
+     * @param iconTint 0 keeps the colors of the icon, default is 0
+     */
+    public void setIconTint(@ColorInt int iconTint) {
+        this.iconTint = iconTint;
+        tintedIcon = null;
+    }
+
+    @Px
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Call {@link SwipeLayout#setLeftActions(SwipeAction...)}/
+     * {@link SwipeLayout#setRightActions(SwipeAction...)} again after changing the width of an
+     * action in use.
+     */
+    public void setWidth(@Px int width) {
+        this.width = width;
+        labelLayout = null;
+    }
+
+    /**
+     * Draw icon and label centered in given bounds, the background is drawn by
+     * {@link SwipeActionMenu} or {@link SwipeActionAtlas}.
+     */
+    void draw(Canvas canvas, TextPaint textPaint, int left, int top, int right, int bottom) {
+        Drawable drawable = getTintedIcon();
+        CharSequence text = getLabelLayout(textPaint);
+
+        int iconWidth = drawable == null ? 0 : drawable.getIntrinsicWidth();
+        int iconHeight = drawable == null ? 0 : drawable.getIntrinsicHeight();
+        float textHeight = text == null ? 0 : textPaint.descent() - textPaint.ascent();
+        float gap = drawable != null && text != null ? textPaint.getTextSize() / 4 : 0;
+        float y = top + (bottom - top - iconHeight - gap - textHeight) / 2;
+
+        if(drawable != null) {
+            int iconLeft = left + (right - left - iconWidth) / 2;
+            int iconTop = Math.round(y);
+            drawable.setBounds(iconLeft, iconTop, iconLeft + iconWidth, iconTop + iconHeight);
+            drawable.draw(canvas);
+        }
+        if(text != null) {
+            textPaint.setColor(textColor);
+            canvas.drawText(text, 0, text.length(), left + (right - left - labelWidth) / 2,
+                    y + iconHeight + gap - textPaint.ascent(), textPaint);
+        }
+    }
+
+    private Drawable getTintedIcon() {
+        if(tintedIcon == null && icon != null) {
+            if(iconTint == 0) {
+                tintedIcon = icon;
+            } else {
+                //tint a copy, drawables of the same resource elsewhere keep their colors and
+                //the icon keeps its constant state, which keys it in SwipeActionAtlas
+                Drawable.ConstantState state = icon.getConstantState();
+                tintedIcon = (state != null ? state.newDrawable() : icon).mutate();
+                tintedIcon.setColorFilter(iconTint, PorterDuff.Mode.SRC_IN);
+            }
+        }
+        return tintedIcon;
+    }
+
+    private CharSequence getLabelLayout(TextPaint textPaint) {
+        if(TextUtils.isEmpty(label)) {
+            return null;
+        }
+
+        //the label is padded by half of the text size on both sides
+        float availableWidth = width - textPaint.getTextSize();
+        if(labelLayout == null || labelLayoutWidth != availableWidth
+                || labelLayoutTextSize != textPaint.getTextSize()) {
+            labelLayout = TextUtils.ellipsize(label, textPaint, Math.max(availableWidth, 0),
+                    TextUtils.TruncateAt.END);
+            labelLayoutWidth = availableWidth;
+            labelLayoutTextSize = textPaint.getTextSize();
+            labelWidth = textPaint.measureText(labelLayout, 0, labelLayout.length());
+        }
+        return labelLayout.length() == 0 ? null : labelLayout;
+    }
+}
@@ -0,0 +1,224 @@
+package com.ayvytr.swipelayout;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Coordinates the {@link SwipeLayout} rows of a {@link RecyclerView}, e.g. only keeps one row open.
+ * The row being swiped or opened is kept in a single slot, so enforcing the policy takes constant
+ * time instead of scanning the rows.
+ * <p>
+ * Item views which are SwipeLayouts are registered automatically, otherwise call
+ * {@link SwipeLayout#setSwipeCoordinator(SwipeCoordinator)} when binding.
+ * <p>
+ * If the adapter has stable ids, open state of rows is kept in a {@link SwipeStateStore} when they
+ * are detached, and restored when they are attached again.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public class SwipeCoordinator {
+    /**
+     * Opening a row closes the previously opened one, default mode.
+     */
+    public static final int MODE_SINGLE_OPEN = 0;
+    /**
+     * Any number of rows can be open.
+     */
+    public static final int MODE_MULTI_OPEN = 1;
+
+    private int mode = MODE_SINGLE_OPEN;
+    private boolean closeOnScroll;
+
+    private RecyclerView recyclerView;
+    /**
+     * The row swiped or opened last
+     */
+    private SwipeLayout current;
+    private final SwipeStateStore stateStore = new SwipeStateStore();
+
+    private final RecyclerView.OnScrollListener onScrollListener =
+            new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrollStateChanged(@NonNull RecyclerView recyclerView,
+                                                 int newState) {
+                    if(closeOnScroll && newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                        closeAll();
+                    }
+                }
+            };
+
+    private final RecyclerView.OnChildAttachStateChangeListener onChildAttachStateChangeListener =
+            new RecyclerView.OnChildAttachStateChangeListener() {
+                @Override
+                public void onChildViewAttachedToWindow(@NonNull View view) {
+                    if(view instanceof SwipeLayout) {
+                        SwipeLayout swipeLayout = (SwipeLayout) view;
+                        swipeLayout.setSwipeCoordinator(SwipeCoordinator.this);
+                        long id = getStableId(view);
+                        if(id != RecyclerView.NO_ID) {
+                            stateStore.restore(id, swipeLayout);
+                            if(stateStore.isOpen(id)) {
+                                //the current row again, like when it was opened
+                                onSwipeStart(swipeLayout);
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public void onChildViewDetachedFromWindow(@NonNull View view) {
+                    if(view instanceof SwipeLayout) {
+                        SwipeLayout swipeLayout = (SwipeLayout) view;
+                        swipeLayout.setSwipeCoordinator(null);
+                        long id = getStableId(view);
+                        if(id != RecyclerView.NO_ID) {
+                            stateStore.save(id, swipeLayout);
+                        }
+                    }
+                    if(view == current) {
+                        current = null;
+                    }
+                }
+            };
+
+    public SwipeCoordinator() {
+    }
+
+    /**
+     * @param mode          {@link #MODE_SINGLE_OPEN} or {@link #MODE_MULTI_OPEN}
+     * @param closeOnScroll close open rows when the user starts scrolling the list
+     */
+    public SwipeCoordinator(int mode, boolean closeOnScroll) {
+        setMode(mode);
+        this.closeOnScroll = closeOnScroll;
+    }
+
+    public int getMode() {
+        return mode;
+    }
+
+    /**
+     * @param mode {@link #MODE_SINGLE_OPEN} or {@link #MODE_MULTI_OPEN}
+     */
+    public void setMode(int mode) {
+        if(mode != MODE_SINGLE_OPEN && mode != MODE_MULTI_OPEN) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        this.mode = mode;
+    }
+
+    public boolean isCloseOnScroll() {
+        return closeOnScroll;
+    }
+
+    public void setCloseOnScroll(boolean closeOnScroll) {
+        this.closeOnScroll = closeOnScroll;
+    }
+
+    public void attachToRecyclerView(@Nullable RecyclerView recyclerView) {
+        if(this.recyclerView == recyclerView) {
+            return;
+        }
+
+        if(this.recyclerView != null) {
+            this.recyclerView.removeOnScrollListener(onScrollListener);
+            this.recyclerView.removeOnChildAttachStateChangeListener(
+                    onChildAttachStateChangeListener);
+            for(int i = this.recyclerView.getChildCount() - 1; i >= 0; i--) {
+                onChildAttachStateChangeListener
+                        .onChildViewDetachedFromWindow(this.recyclerView.getChildAt(i));
+            }
+        }
+
+        this.recyclerView = recyclerView;
+        current = null;
+        stateStore.clear();
+        if(recyclerView != null) {
+            recyclerView.addOnScrollListener(onScrollListener);
+            recyclerView.addOnChildAttachStateChangeListener(onChildAttachStateChangeListener);
+            for(int i = recyclerView.getChildCount() - 1; i >= 0; i--) {
+                onChildAttachStateChangeListener
+                        .onChildViewAttachedToWindow(recyclerView.getChildAt(i));
+            }
+        }
+    }
+
+    /**
+     * Open state of detached rows, keyed by adapter stable id. Also useful when SwipeLayout is
+     * inside the item view: call {@link SwipeStateStore#restore(long, SwipeLayout)} when binding and
+     * {@link SwipeStateStore#save(long, SwipeLayout)} when recycled.
+     */
+    @NonNull
+    public SwipeStateStore getStateStore() {
+        return stateStore;
+    }
+
+    private long getStableId(View child) {
+        RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        if(adapter == null || !adapter.hasStableIds()) {
+            return RecyclerView.NO_ID;
+        }
+        return recyclerView.getChildItemId(child);
+    }
+
+    /**
+     * @return the open row in {@link #MODE_SINGLE_OPEN}, or the last opened row which is still open
+     * in {@link #MODE_MULTI_OPEN}, null if there is none
+     */
+    @Nullable
+    public SwipeLayout getOpenSwipeLayout() {
+        return current != null && current.isOpen() ? current : null;
+    }
+
+    /**
+     * Close open rows with animation.
+     */
+    public void closeAll() {
+        stateStore.clear();
+        if(mode == MODE_SINGLE_OPEN || recyclerView == null) {
+            if(current != null) {
+                current.animateReset();
+            }
+            current = null;
+            return;
+        }
+
+        for(int i = recyclerView.getChildCount() - 1; i >= 0; i--) {
+            View child = recyclerView.getChildAt(i);
+            if(child instanceof SwipeLayout && ((SwipeLayout) child).isOpen()) {
+                SwipeAnimationEngine.get(child).animateTo((SwipeLayout) child, 0);
+            }
+        }
+        current = null;
+    }
+
+    /**
+     * Called by {@link SwipeLayout} when it starts swiping or opening.
+     */
+    void onSwipeStart(SwipeLayout swipeLayout) {
+        if(current == swipeLayout) {
+            return;
+        }
+
+        if(mode == MODE_SINGLE_OPEN) {
+            if(current != null) {
+                current.animateReset();
+            }
+            //rows out of screen are closed as well
+            stateStore.clear();
+        }
+        current = swipeLayout;
+    }
+
+    /**
+     * Called by {@link SwipeLayout} when its coordinator changes.
+     */
+    void onSwipeLayoutRemoved(SwipeLayout swipeLayout) {
+        if(current == swipeLayout) {
+            current = null;
+        }
+    }
+}
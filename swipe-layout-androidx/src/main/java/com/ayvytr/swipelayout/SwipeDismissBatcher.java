@@ -0,0 +1,156 @@
+package com.ayvytr.swipelayout;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Collects rows of a {@link RecyclerView} dismissed close together, e.g. by fast repeated swipes,
+ * and removes each contiguous range of them from the adapter at once on a later frame, instead of
+ * running one item animation and layout pass per row.
+ * <p>
+ * Set it as {@link SwipeLayout.DismissListener} of the rows.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public class SwipeDismissBatcher implements SwipeLayout.DismissListener {
+    private final RecyclerView recyclerView;
+    private final Callback callback;
+
+    /**
+     * Rows dismissed since last flush, their adapter positions are read at flush as the adapter
+     * may change in between
+     */
+    private RecyclerView.ViewHolder[] holders = new RecyclerView.ViewHolder[8];
+    private SwipeLayout[] swipeLayouts = new SwipeLayout[8];
+    private int[] positions = new int[8];
+    private int count;
+    private long batchWindow;
+    private boolean flushScheduled;
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    public SwipeDismissBatcher(@NonNull RecyclerView recyclerView, @NonNull Callback callback) {
+        this.recyclerView = recyclerView;
+        this.callback = callback;
+    }
+
+    public long getBatchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * Wait {@code batchWindow} for more dismissals after the first one of a batch. Default is 0,
+     * which removes the rows dismissed until the next frame.
+     *
+     * @param batchWindow milliseconds
+     */
+    public void setBatchWindow(long batchWindow) {
+        this.batchWindow = Math.max(batchWindow, 0);
+    }
+
+    @Override
+    public void onDismissed(SwipeLayout swipeLayout, int side) {
+        RecyclerView.ViewHolder holder = recyclerView.findContainingViewHolder(swipeLayout);
+        if(holder == null) {
+            return;
+        }
+
+        if(holder.getAdapterPosition() == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        if(count == holders.length) {
+            holders = Arrays.copyOf(holders, count * 2);
+            swipeLayouts = Arrays.copyOf(swipeLayouts, count * 2);
+            positions = new int[count * 2];
+        }
+        holders[count] = holder;
+        swipeLayouts[count] = swipeLayout;
+        count++;
+
+        if(!flushScheduled) {
+            flushScheduled = true;
+            if(batchWindow > 0) {
+                ViewCompat.postOnAnimationDelayed(recyclerView, flushRunnable, batchWindow);
+            } else {
+                ViewCompat.postOnAnimation(recyclerView, flushRunnable);
+            }
+        }
+    }
+
+    /**
+     * Remove pending dismissed rows now. Ranges are removed from the last one, so positions of the
+     * ranges not removed yet stay valid.
+     * <p>
+     * Rows without an adapter position any more, or rebound and not dismissed any more, are
+     * skipped.
+     */
+    public void flush() {
+        recyclerView.removeCallbacks(flushRunnable);
+        flushScheduled = false;
+
+        int positionCount = 0;
+        for(int i = 0; i < count; i++) {
+            int position = holders[i].getAdapterPosition();
+            if(position != RecyclerView.NO_POSITION
+                    && swipeLayouts[i].getSwipeState() == SwipeLayout.STATE_DISMISSED) {
+                positions[positionCount++] = position;
+            }
+            holders[i] = null;
+            swipeLayouts[i] = null;
+        }
+        count = 0;
+        if(positionCount == 0) {
+            return;
+        }
+
+        Arrays.sort(positions, 0, positionCount);
+        RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        int end = positionCount - 1;
+        while(end >= 0) {
+            int start = end;
+            while(start > 0 && positions[start - 1] >= positions[start] - 1) {
+                start--;
+            }
+
+            //duplicates of the same position are removed only once
+            int positionStart = positions[start];
+            int itemCount = positions[end] - positionStart + 1;
+            callback.onRemoveItems(positionStart, itemCount);
+            if(adapter != null) {
+                adapter.notifyItemRangeRemoved(positionStart, itemCount);
+            }
+            end = start - 1;
+        }
+    }
+
+    /**
+     * Drop pending dismissed rows without removing them, e.g. when the data set is replaced.
+     */
+    public void cancel() {
+        recyclerView.removeCallbacks(flushRunnable);
+        flushScheduled = false;
+        Arrays.fill(holders, 0, count, null);
+        Arrays.fill(swipeLayouts, 0, count, null);
+        count = 0;
+    }
+
+    public interface Callback {
+        /**
+         * Remove the items from the data set, the adapter is notified by
+         * {@link SwipeDismissBatcher} right after.
+         *
+         * @param positionStart adapter position of the first item
+         * @param itemCount     count of the items
+         */
+        void onRemoveItems(int positionStart, int itemCount);
+    }
+}
@@ -1,25 +1,37 @@
 package com.ayvytr.swipelayout;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.TextPaint;
 import android.util.AttributeSet;
+import android.util.Property;
 import android.util.TypedValue;
+import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
-import android.view.ViewParent;
+import android.view.WindowManager;
 import android.view.animation.AccelerateInterpolator;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
 
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Arrays;
 
+import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
-import androidx.core.view.NestedScrollingParent;
+import androidx.core.view.NestedScrollingChild3;
+import androidx.core.view.NestedScrollingChildHelper;
 import androidx.core.view.ViewCompat;
 import androidx.customview.widget.ViewDragHelper;
 
@@ -29,18 +41,112 @@ import androidx.customview.widget.ViewDragHelper;
  * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
  * @since 0.1.0
  */
-public class SwipeLayout extends ViewGroup {
+public class SwipeLayout extends ViewGroup implements NestedScrollingChild3 {
     private View centerView;
     private View leftView;
     private View rightView;
     private ViewDragHelper viewDragHelper;
 
+    private static final int SLOT_LEFT = 0;
+    private static final int SLOT_CENTER = 1;
+    private static final int SLOT_RIGHT = 2;
+    /**
+     * Children by role, indexed by {@link LayoutParams#gravity} + 1. Only updated when children are
+     * added or removed, so layout doesn't need to walk the children.
+     */
+    private final View[] roleSlots = new View[3];
+
     private static final float VELOCITY_THRESHOLD = 1500f;
     private float velocityThreshold = VELOCITY_THRESHOLD;
 
     private float touchSlop;
-    private WeakReference<ObjectAnimator> weakAnimator;
-    private final Map<View, Boolean> hackedParents = new WeakHashMap<>();
+
+    private static final float SWIPE_ANGLE = 45f;
+    private float swipeAngle = SWIPE_ANGLE;
+    private float swipeAngleTan = 1f;
+    private float swipeMinDistance;
+
+    /**
+     * Width of the edges where swiping can start, both 0 means the whole SwipeLayout
+     */
+    private int swipeEdgeStart;
+    private int swipeEdgeEnd;
+
+    private final SwipeVelocityTracker velocityTracker = new SwipeVelocityTracker();
+    private float maxVelocity;
+    private boolean swipePrediction;
+    private float frameIntervalSeconds;
+    static final long ANIMATION_DURATION = 200;
+    static final Interpolator ANIMATION_INTERPOLATOR = new AccelerateInterpolator();
+    /**
+     * Created on first use and reused by every offset animation of this SwipeLayout.
+     */
+    private ObjectAnimator animator;
+    /**
+     * Not null while {@link SwipeAnimationEngine} animates this SwipeLayout.
+     */
+    private SwipeAnimationEngine animationEngine;
+    /**
+     * Index in the arrays of {@link #animationEngine}, kept by the engine for O(1) lookups.
+     */
+    int engineIndex = -1;
+
+    /**
+     * True while ViewDragHelper settles the released view, see {@link #computeScroll()}
+     */
+    private boolean dragSettling;
+
+    private boolean springSettle;
+    private final SwipeSpring spring = new SwipeSpring();
+    private boolean springRunning;
+    private long springFrameTime;
+    private final Runnable springRunnable = new Runnable() {
+        @Override
+        public void run() {
+            stepSpring();
+        }
+    };
+    private boolean notifyOnAnimationEnd;
+    private OnSwipeProgressListener onSwipeProgressListener;
+
+    public static final int STATE_IDLE_CLOSED = 0;
+    public static final int STATE_DRAGGING = 1;
+    public static final int STATE_SETTLING = 2;
+    public static final int STATE_OPEN_LEFT = 3;
+    public static final int STATE_OPEN_RIGHT = 4;
+    public static final int STATE_DISMISSED = 5;
+
+    private int swipeState = STATE_IDLE_CLOSED;
+    /**
+     * Greater than 0 while a step which stops an animation and starts another one runs, its
+     * intermediate states are not reported
+     */
+    private int swipeStateDeferred;
+    /**
+     * Greater than 0 while a settle, spring or animation is being started, stopping the previous
+     * one must not restore the layers or release the menus the new one needs
+     */
+    private int settleStarting;
+    /**
+     * Settled out by a dismiss, until moved again or reset by {@link #setOffsetImmediately(int)}
+     */
+    private boolean dismissed;
+    private OnSwipeStateChangedListener onSwipeStateChangedListener;
+    private boolean swipeProgressScheduled;
+    private final Runnable swipeProgressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchSwipeProgress();
+        }
+    };
+    private NestedScrollingChildHelper nestedScrollingChildHelper;
+    private final int[] nestedScrollConsumed = new int[2];
+    private final int[] nestedScrollOffset = new int[2];
+    private int nestedLastX;
+    /**
+     * Sum of the horizontal distance consumed by nested scrolling parents during this swipe
+     */
+    private int nestedOffsetX;
     private boolean leftSwipeEnabled = true;
     private boolean rightSwipeEnabled = true;
 
@@ -52,6 +158,81 @@ public class SwipeLayout extends ViewGroup {
     private float touchX;
     private float touchY;
     private OnStateChangedListener onStateChangedListener;
+    private SwipeMetricsTracker metricsTracker;
+    private SwipeCoordinator swipeCoordinator;
+
+    /**
+     * Layouts of the menus inflated when first revealed, 0 if none or already inflated
+     */
+    private int leftMenuLayout;
+    private int rightMenuLayout;
+    private MenuProvider menuProvider;
+    /**
+     * Actions drawn on the canvas of SwipeLayout for sides without a menu view
+     */
+    private SwipeActionMenu leftActionMenu;
+    private SwipeActionMenu rightActionMenu;
+    private Paint actionPaint;
+    private TextPaint actionTextPaint;
+    private boolean actionAtlasEnabled = true;
+
+    private static final int[] NO_SNAP_POINTS = new int[0];
+    /**
+     * Partial reveal distances of each side, pixels
+     */
+    private int[] leftSnapPoints = NO_SNAP_POINTS;
+    private int[] rightSnapPoints = NO_SNAP_POINTS;
+    /**
+     * Sorted offsets a release can settle at, the first {@link #snapOffsetCount} are valid.
+     * Rebuilt when the snap points or the offset range change.
+     */
+    private int[] snapOffsets = NO_SNAP_POINTS;
+    private int snapOffsetCount;
+    private boolean snapOffsetsDirty = true;
+    private int snapMinOffset;
+    private int snapMaxOffset;
+    private SwipeAction pressedAction;
+    private OnActionClickListener onActionClickListener;
+    private MenuViewPool menuViewPool;
+    /**
+     * Menus of {@link #menuProvider} attached now and their view types, indexed by slot
+     */
+    private final View[] providedMenus = new View[3];
+    private final int[] providedMenuTypes = new int[3];
+    private DismissListener dismissListener;
+
+    private static final float DISMISS_THRESHOLD = 0.5f;
+    private static final int ACTION_TEXT_SIZE_SP = 14;
+    private boolean dismissEnabled;
+    private float dismissThreshold = DISMISS_THRESHOLD;
+    /**
+     * The running settle ends by swiping SwipeLayout out, {@link #dismissListener} is notified then
+     */
+    private boolean dismissing;
+
+    private boolean singlePassMeasure;
+
+    private boolean swipeByTranslation;
+    private int translationOffset;
+    /**
+     * Offset applied on next layout by {@link #setOffsetImmediately(int)}
+     */
+    private int pendingOffset;
+    private boolean hasPendingOffset;
+
+    private boolean swipeHardwareLayer = true;
+    /**
+     * Children put on {@link #LAYER_TYPE_HARDWARE} while swiping or settling, indexed by slot.
+     */
+    private final View[] promotedViews = new View[3];
+    private boolean layersPromoted;
+    private int cachedWidthMeasureSpec;
+    private int cachedHeightMeasureSpec;
+    private int cachedChildCount = -1;
+    private int cachedVerticalPadding;
+    private int cachedMinimumHeight;
+    private int cachedMeasuredWidth;
+    private int cachedMeasuredHeight;
 
     public SwipeLayout(Context context) {
         this(context, null);
@@ -77,7 +258,12 @@ public class SwipeLayout extends ViewGroup {
         velocityThreshold = TypedValue
                 .applyDimension(TypedValue.COMPLEX_UNIT_DIP, VELOCITY_THRESHOLD,
                         getResources().getDisplayMetrics());
-        touchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
+        ViewConfiguration configuration = ViewConfiguration.get(getContext());
+        touchSlop = configuration.getScaledTouchSlop();
+        maxVelocity = configuration.getScaledMaximumFlingVelocity();
+        swipeMinDistance = touchSlop;
+        frameIntervalSeconds = getFrameBudgetNanos() / 1000000000f;
+        setNestedScrollingEnabled(true);
 
         if(attrs != null) {
             TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.SwipeLayout,
@@ -92,6 +278,45 @@ public class SwipeLayout extends ViewGroup {
             if(a.hasValue(R.styleable.SwipeLayout_swipeRightEnabled)) {
                 rightSwipeEnabled = a.getBoolean(R.styleable.SwipeLayout_swipeRightEnabled, true);
             }
+            singlePassMeasure = a.getBoolean(R.styleable.SwipeLayout_singlePassMeasure, false);
+            swipeByTranslation = a.getBoolean(R.styleable.SwipeLayout_swipeByTranslation, false);
+            swipeHardwareLayer = a.getBoolean(R.styleable.SwipeLayout_swipeHardwareLayer, true);
+            springSettle = a.getBoolean(R.styleable.SwipeLayout_springSettle, false);
+            swipePrediction = a.getBoolean(R.styleable.SwipeLayout_swipePrediction, false);
+            swipeEdgeStart = a.getDimensionPixelSize(R.styleable.SwipeLayout_swipeEdgeStart, 0);
+            swipeEdgeEnd = a.getDimensionPixelSize(R.styleable.SwipeLayout_swipeEdgeEnd, 0);
+            dismissEnabled = a.getBoolean(R.styleable.SwipeLayout_swipeDismiss, false);
+            leftMenuLayout = a.getResourceId(R.styleable.SwipeLayout_leftMenuLayout, 0);
+            rightMenuLayout = a.getResourceId(R.styleable.SwipeLayout_rightMenuLayout, 0);
+            int leftActions = a.getResourceId(R.styleable.SwipeLayout_leftActions, 0);
+            if(leftActions != 0) {
+                leftActionMenu = SwipeActionMenu.inflate(getContext(), leftActions);
+            }
+            int rightActions = a.getResourceId(R.styleable.SwipeLayout_rightActions, 0);
+            if(rightActions != 0) {
+                rightActionMenu = SwipeActionMenu.inflate(getContext(), rightActions);
+            }
+            int leftSnapPoints = a.getResourceId(R.styleable.SwipeLayout_leftSnapPoints, 0);
+            if(leftSnapPoints != 0) {
+                this.leftSnapPoints = readSnapPoints(leftSnapPoints);
+            }
+            int rightSnapPoints = a.getResourceId(R.styleable.SwipeLayout_rightSnapPoints, 0);
+            if(rightSnapPoints != 0) {
+                this.rightSnapPoints = readSnapPoints(rightSnapPoints);
+            }
+            if(a.hasValue(R.styleable.SwipeLayout_actionTextSize)) {
+                getActionTextPaint().setTextSize(
+                        a.getDimension(R.styleable.SwipeLayout_actionTextSize, 0));
+            }
+            setDismissThreshold(a.getFloat(R.styleable.SwipeLayout_swipeDismissThreshold,
+                    DISMISS_THRESHOLD));
+            setSwipeAngle(a.getFloat(R.styleable.SwipeLayout_swipeAngle, SWIPE_ANGLE));
+            swipeMinDistance = a.getDimension(R.styleable.SwipeLayout_swipeMinDistance,
+                    swipeMinDistance);
+            spring.setStiffness(a.getFloat(R.styleable.SwipeLayout_springStiffness,
+                    SwipeSpring.STIFFNESS_DEFAULT));
+            spring.setDampingRatio(a.getFloat(R.styleable.SwipeLayout_springDampingRatio,
+                    SwipeSpring.DAMPING_RATIO_DEFAULT));
 
             a.recycle();
         }
@@ -113,61 +338,232 @@ public class SwipeLayout extends ViewGroup {
      * reset swipe-layout state to initial position with animation (200ms)
      */
     public void animateReset() {
+        if(hasPendingOffset) {
+            //e.g. restored open before its layout, nothing to animate yet
+            setOffsetImmediately(0);
+            return;
+        }
+
         if(centerView != null || getOffset() != 0) {
             if(centerView == null || getOffset() == 0) {
                 return;
             }
-            runAnimation(centerView.getLeft(), 0);
+            runAnimation(getOffset(), 0);
         }
     }
 
     /**
-     * Swipe with animation to left by right view's width
+     * Swipe with animation to left by right view's or right actions' width
      * <p>
      * Ignores {@link SwipeLayout#isSwipeEnabled()} and {@link SwipeLayout#isLeftSwipeEnabled()}
      */
     public void animateSwipeLeft() {
-        if(centerView != null && rightView != null) {
-            int target = -rightView.getWidth();
+        attachMenus();
+        int target = getMinOffset();
+        if(centerView != null && target != 0) {
+            notifySwipeStart();
             runAnimation(getOffset(), target);
         }
     }
 
     /**
-     * Swipe with animation to right by left view's width
+     * Swipe with animation to right by left view's or left actions' width
      * <p>
      * Ignores {@link SwipeLayout#isSwipeEnabled()} and {@link SwipeLayout#isRightSwipeEnabled()}
      */
     public void animateSwipeRight() {
-        if(centerView != null && leftView != null) {
-            int target = leftView.getWidth();
+        attachMenus();
+        int target = getMaxOffset();
+        if(centerView != null && target != 0) {
+            notifySwipeStart();
             runAnimation(getOffset(), target);
         }
     }
 
+    private void notifySwipeStart() {
+        if(swipeCoordinator != null) {
+            swipeCoordinator.onSwipeStart(this);
+        }
+    }
+
     private void runAnimation(int initialX, int targetX) {
+        runAnimation(initialX, targetX, false);
+    }
+
+    /**
+     * @param notifyStateChanged notify {@link OnStateChangedListener} when the animation ends
+     */
+    private void runAnimation(int initialX, int targetX, boolean notifyStateChanged) {
+        settleStarting++;
+        if(springSettle) {
+            viewDragHelper.abort();
+            startSpring(targetX, 0, notifyStateChanged);
+            settleStarting--;
+            return;
+        }
+
+        //the animation replaced here is not a transition of its own
+        swipeStateDeferred++;
+        cancelEngineAnimation();
         finishAnimator();
+        finishSpring();
         viewDragHelper.abort();
+        notifyOnAnimationEnd = notifyStateChanged;
 
-        ObjectAnimator animator = new ObjectAnimator();
-        animator.setTarget(this);
-        animator.setPropertyName("offset");
-        animator.setInterpolator(new AccelerateInterpolator());
-        animator.setIntValues(initialX, targetX);
-        animator.setDuration(200);
+        if(animator == null) {
+            animator = ObjectAnimator.ofInt(this, OFFSET, initialX, targetX);
+            animator.setInterpolator(ANIMATION_INTERPOLATOR);
+            animator.setDuration(ANIMATION_DURATION);
+            animator.addListener(animatorListener);
+        } else {
+            animator.setIntValues(initialX, targetX);
+        }
         animator.start();
-        this.weakAnimator = new WeakReference<>(animator);
+        promoteLayers();
+        settleStarting--;
+        swipeStateDeferred--;
+        updateSwipeState();
     }
 
-    private void finishAnimator() {
-        if(weakAnimator != null) {
-            ObjectAnimator animator = this.weakAnimator.get();
-            if(animator != null) {
-                this.weakAnimator.clear();
-                if(animator.isRunning()) {
-                    animator.end();
+    private final AnimatorListenerAdapter animatorListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            //ended by another animation starting, which keeps using the layers and menus
+            if(settleStarting == 0
+                    && viewDragHelper.getViewDragState() == ViewDragHelper.STATE_IDLE) {
+                restoreLayers();
+                releaseMenusIfClosed();
+            }
+            if(metricsTracker != null) {
+                metricsTracker.onSettleEnd();
+            }
+            if(notifyOnAnimationEnd) {
+                notifyOnAnimationEnd = false;
+                if(!dispatchDismissIfPending() && onStateChangedListener != null) {
+                    onStateChangedListener.onChanged(isOpen(), SwipeLayout.this);
                 }
             }
+            updateSwipeState();
+        }
+    };
+
+    /**
+     * Settle to {@code targetOffset} by {@link #spring}, starting from {@code velocity}.
+     *
+     * @param velocity           pixels per second
+     * @param notifyStateChanged notify {@link OnStateChangedListener} when the spring comes to rest
+     */
+    private void startSpring(int targetOffset, float velocity, boolean notifyStateChanged) {
+        settleStarting++;
+        swipeStateDeferred++;
+        cancelEngineAnimation();
+        finishAnimator();
+        notifyOnAnimationEnd = notifyStateChanged;
+
+        spring.start(getOffset(), targetOffset, velocity);
+        if(!springRunning) {
+            springRunning = true;
+            springFrameTime = AnimationUtils.currentAnimationTimeMillis();
+            ViewCompat.postOnAnimation(this, springRunnable);
+        }
+        promoteLayers();
+        settleStarting--;
+        swipeStateDeferred--;
+        updateSwipeState();
+    }
+
+    private void stepSpring() {
+        if(!springRunning) {
+            return;
+        }
+
+        long frameTime = AnimationUtils.currentAnimationTimeMillis();
+        boolean running = spring.update((frameTime - springFrameTime) / 1000f);
+        springFrameTime = frameTime;
+        setOffset(clampOffset(Math.round(spring.getPosition())));
+
+        if(running) {
+            ViewCompat.postOnAnimation(this, springRunnable);
+        } else {
+            springRunning = false;
+            onSpringEnd();
+        }
+    }
+
+    /**
+     * Stop the spring where it is, e.g. when the user touches SwipeLayout again.
+     */
+    private void stopSpring() {
+        if(springRunning) {
+            springRunning = false;
+            removeCallbacks(springRunnable);
+            notifyOnAnimationEnd = false;
+            releaseIfIdle();
+        }
+    }
+
+    /**
+     * Jump to the target of the running spring.
+     */
+    private void finishSpring() {
+        if(springRunning) {
+            springRunning = false;
+            removeCallbacks(springRunnable);
+            setOffset(clampOffset(Math.round(spring.getTarget())));
+            onSpringEnd();
+        }
+    }
+
+    private void onSpringEnd() {
+        releaseIfIdle();
+        if(metricsTracker != null) {
+            metricsTracker.onSettleEnd();
+        }
+        if(notifyOnAnimationEnd) {
+            notifyOnAnimationEnd = false;
+            if(!dispatchDismissIfPending() && onStateChangedListener != null) {
+                onStateChangedListener.onChanged(isOpen(), this);
+            }
+        }
+        updateSwipeState();
+    }
+
+    private boolean isAnimatorRunning() {
+        return animator != null && animator.isRunning();
+    }
+
+    private void finishAnimator() {
+        if(animator != null && animator.isRunning()) {
+            animator.end();
+        }
+    }
+
+    void onEngineAnimationStart(SwipeAnimationEngine engine) {
+        settleStarting++;
+        swipeStateDeferred++;
+        finishAnimator();
+        finishSpring();
+        viewDragHelper.abort();
+        if(animationEngine != null && animationEngine != engine) {
+            //moved to another window
+            animationEngine.stop(this);
+        }
+        animationEngine = engine;
+        promoteLayers();
+        settleStarting--;
+        swipeStateDeferred--;
+        updateSwipeState();
+    }
+
+    void onEngineAnimationEnd() {
+        animationEngine = null;
+        releaseIfIdle();
+        updateSwipeState();
+    }
+
+    private void cancelEngineAnimation() {
+        if(animationEngine != null) {
+            animationEngine.cancel(this);
         }
     }
 
@@ -175,6 +571,32 @@ public class SwipeLayout extends ViewGroup {
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int count = getChildCount();
 
+        if(isMeasureCacheValid(widthMeasureSpec, heightMeasureSpec, count)) {
+            setMeasuredDimension(cachedMeasuredWidth, cachedMeasuredHeight);
+            return;
+        }
+
+        int maxHeight = singlePassMeasure
+                ? measureSinglePass(widthMeasureSpec, heightMeasureSpec)
+                : measureAllChildren(widthMeasureSpec, heightMeasureSpec);
+
+        maxHeight += getPaddingTop() + getPaddingBottom();
+        maxHeight = Math.max(maxHeight, getSuggestedMinimumHeight());
+
+        setMeasuredDimension(resolveSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(maxHeight, heightMeasureSpec));
+        saveMeasureCache(widthMeasureSpec, heightMeasureSpec, count);
+    }
+
+    /**
+     * Measures every child, then measures them again at the biggest height when the height is
+     * not exact.
+     *
+     * @return the height of the highest visible child
+     */
+    private int measureAllChildren(int widthMeasureSpec, int heightMeasureSpec) {
+        int count = getChildCount();
+
         int maxHeight = 0;
 
         // Find out how big everyone wants to be
@@ -204,83 +626,281 @@ public class SwipeLayout extends ViewGroup {
                 maxHeight = Math.max(maxHeight, childBottom);
             }
         }
+        return maxHeight;
+    }
 
-        maxHeight += getPaddingTop() + getPaddingBottom();
-        maxHeight = Math.max(maxHeight, getSuggestedMinimumHeight());
+    /**
+     * Measures the center view once, the left/right views are measured against its height only.
+     *
+     * @return the height of the center view
+     */
+    private int measureSinglePass(int widthMeasureSpec, int heightMeasureSpec) {
+        resolveChildren();
+        if(centerView == null) {
+            return measureAllChildren(widthMeasureSpec, heightMeasureSpec);
+        }
 
-        setMeasuredDimension(resolveSize(getSuggestedMinimumWidth(), widthMeasureSpec),
-                resolveSize(maxHeight, heightMeasureSpec));
+        measureChild(centerView, widthMeasureSpec, heightMeasureSpec);
+        int height = centerView.getMeasuredHeight();
+
+        int menuHeightMeasureSpec = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY
+                ? heightMeasureSpec
+                : MeasureSpec.makeMeasureSpec(height + getPaddingTop() + getPaddingBottom(),
+                        MeasureSpec.EXACTLY);
+        if(leftView != null) {
+            measureChild(leftView, widthMeasureSpec, menuHeightMeasureSpec);
+        }
+        if(rightView != null) {
+            measureChild(rightView, widthMeasureSpec, menuHeightMeasureSpec);
+        }
+        return height;
+    }
+
+    /**
+     * The last measured size can be reused if the measure specs, child count and paddings are the
+     * same, and none of the children requested a new layout.
+     */
+    private boolean isMeasureCacheValid(int widthMeasureSpec, int heightMeasureSpec, int count) {
+        if(cachedChildCount != count
+                || cachedWidthMeasureSpec != widthMeasureSpec
+                || cachedHeightMeasureSpec != heightMeasureSpec
+                || cachedVerticalPadding != getPaddingTop() + getPaddingBottom()
+                || cachedMinimumHeight != getSuggestedMinimumHeight()) {
+            return false;
+        }
+
+        for(int i = 0; i < count; i++) {
+            if(getChildAt(i).isLayoutRequested()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void saveMeasureCache(int widthMeasureSpec, int heightMeasureSpec, int count) {
+        cachedWidthMeasureSpec = widthMeasureSpec;
+        cachedHeightMeasureSpec = heightMeasureSpec;
+        cachedChildCount = count;
+        cachedVerticalPadding = getPaddingTop() + getPaddingBottom();
+        cachedMinimumHeight = getSuggestedMinimumHeight();
+        cachedMeasuredWidth = getMeasuredWidth();
+        cachedMeasuredHeight = getMeasuredHeight();
+    }
+
+    private void invalidateMeasureCache() {
+        cachedChildCount = -1;
     }
 
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        if(changed) {
+            //snap points in dismiss mode are bound by the width
+            snapOffsetsDirty = true;
+        }
         layoutChildren(left, top, right, bottom);
     }
 
     private void layoutChildren(int left, int top, int right, int bottom) {
-        final int count = getChildCount();
-
         final int parentTop = getPaddingTop();
 
-        centerView = null;
-        leftView = null;
-        rightView = null;
-        for(int i = 0; i < count; i++) {
-            View child = getChildAt(i);
-            if(child.getVisibility() == GONE) {
-                continue;
+        resolveChildren();
+
+        if(centerView == null) {
+            throw new RuntimeException("Child view must be added");
+        }
+
+        layoutChild(centerView, centerView.getLeft(), parentTop);
+        if(leftView != null) {
+            layoutChild(leftView, centerView.getLeft() - leftView.getMeasuredWidth(), parentTop);
+        }
+        if(rightView != null) {
+            layoutChild(rightView, centerView.getRight(), parentTop);
+        }
+
+        if(hasPendingOffset) {
+            hasPendingOffset = false;
+            if(pendingOffset != 0) {
+                attachMenus();
             }
+            setOffset(resolveOffset(pendingOffset));
+            //e.g. rebound closed, the menus are still bound to the previous item
+            releaseMenusIfClosed();
+            updateSwipeState();
+        }
+        rebuildSnapOffsets();
+    }
+
+    private void layoutChild(View child, int childLeft, int childTop) {
+        child.layout(childLeft, childTop, childLeft + child.getMeasuredWidth(),
+                childTop + child.getMeasuredHeight());
+    }
+
+    /**
+     * Picks center/left/right views from {@link #roleSlots}, like the last visible child of each
+     * gravity.
+     */
+    private void resolveChildren() {
+        if(getChildCount() > 0 && roleSlots[SLOT_LEFT] == null && roleSlots[SLOT_CENTER] == null
+                && roleSlots[SLOT_RIGHT] == null) {
+            rebuildRoleSlots();
+        }
+
+        centerView = resolveSlot(SLOT_CENTER);
+        leftView = resolveSlot(SLOT_LEFT);
+        rightView = resolveSlot(SLOT_RIGHT);
+    }
+
+    /**
+     * Attach menus to the sides without a menu, inflated from {@link #leftMenuLayout}/
+     * {@link #rightMenuLayout} or taken from {@link #menuProvider}. They are measured and laid out
+     * at once, so revealing them costs no extra layout pass.
+     */
+    private void attachMenus() {
+        if(centerView == null || getWidth() == 0) {
+            return;
+        }
+
+        attachMenu(LayoutParams.LEFT);
+        attachMenu(LayoutParams.RIGHT);
+    }
 
-            LayoutParams lp = (LayoutParams) child.getLayoutParams();
-            switch(lp.gravity) {
-                case LayoutParams.CENTER:
-                    centerView = child;
-                    break;
+    private void attachMenu(int side) {
+        int slot = side + 1;
+        if(roleSlots[slot] != null) {
+            return;
+        }
 
-                case LayoutParams.LEFT:
-                    leftView = child;
-                    break;
+        View menu;
+        int menuLayout = side == LayoutParams.LEFT ? leftMenuLayout : rightMenuLayout;
+        if(menuLayout != 0) {
+            //inflated once, then kept like a menu declared as child
+            if(side == LayoutParams.LEFT) {
+                leftMenuLayout = 0;
+            } else {
+                rightMenuLayout = 0;
+            }
+            menu = LayoutInflater.from(getContext()).inflate(menuLayout, this, false);
+        } else if(menuProvider != null) {
+            int type = menuProvider.getMenuType(this, side);
+            if(type == MenuProvider.NO_MENU) {
+                return;
+            }
 
-                case LayoutParams.RIGHT:
-                    rightView = child;
-                    break;
+            menu = menuViewPool.acquire(type);
+            if(menu == null) {
+                menu = menuProvider.createMenu(this, side, type);
             }
+            menuProvider.bindMenu(this, side, menu);
+            providedMenus[slot] = menu;
+            providedMenuTypes[slot] = type;
+        } else {
+            return;
         }
 
-        if(centerView == null) {
-            throw new RuntimeException("Child view must be added");
+        LayoutParams lp;
+        ViewGroup.LayoutParams params = menu.getLayoutParams();
+        if(params instanceof LayoutParams) {
+            lp = (LayoutParams) params;
+        } else if(params != null) {
+            lp = new LayoutParams(params);
+        } else {
+            lp = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
         }
+        lp.gravity = side;
 
-        for(int i = 0; i < count; i++) {
-            final View child = getChildAt(i);
-            if(child.getVisibility() != GONE) {
-                final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+        addViewInLayout(menu, -1, lp, true);
+        resolveChildren();
+
+        measureChild(menu, MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY));
+        layoutChild(menu, side == LayoutParams.LEFT
+                ? centerView.getLeft() - menu.getMeasuredWidth()
+                : centerView.getRight(), getPaddingTop());
+    }
 
-                final int width = child.getMeasuredWidth();
-                final int height = child.getMeasuredHeight();
+    private void releaseMenusIfClosed() {
+        if(getOffset() != 0 || hasPendingOffset) {
+            return;
+        }
 
-                int childLeft;
-                int childTop;
+        releaseMenu(SLOT_LEFT);
+        releaseMenu(SLOT_RIGHT);
+    }
 
-                int orientation = lp.gravity;
+    private void releaseMenu(int slot) {
+        View menu = providedMenus[slot];
+        if(menu == null) {
+            return;
+        }
 
-                switch(orientation) {
-                    case LayoutParams.LEFT:
-                        childLeft = centerView.getLeft() - width;
-                        break;
+        providedMenus[slot] = null;
+        if(promotedViews[slot] == menu) {
+            restoreLayers();
+        }
+        removeViewInLayout(menu);
+        resolveChildren();
+        menuViewPool.release(providedMenuTypes[slot], menu);
+    }
 
-                    case LayoutParams.RIGHT:
-                        childLeft = centerView.getRight();
-                        break;
+    /**
+     * @return the slotted child, or the last visible child with the same gravity if the slotted
+     * one is {@link #GONE}
+     */
+    private View resolveSlot(int slot) {
+        View view = roleSlots[slot];
+        if(view == null || view.getVisibility() != GONE) {
+            return view;
+        }
 
-                    case LayoutParams.CENTER:
-                    default:
-                        childLeft = child.getLeft();
-                        break;
-                }
-                childTop = parentTop;
+        for(int i = getChildCount() - 1; i >= 0; i--) {
+            View child = getChildAt(i);
+            if(child != view && child.getVisibility() != GONE && slotOf(child) == slot) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static int slotOf(View child) {
+        return ((LayoutParams) child.getLayoutParams()).gravity + 1;
+    }
+
+    private void rebuildRoleSlots() {
+        roleSlots[SLOT_LEFT] = null;
+        roleSlots[SLOT_CENTER] = null;
+        roleSlots[SLOT_RIGHT] = null;
+
+        int count = getChildCount();
+        for(int i = 0; i < count; i++) {
+            View child = getChildAt(i);
+            roleSlots[slotOf(child)] = child;
+        }
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        roleSlots[slotOf(child)] = child;
+        if(swipeByTranslation) {
+            child.setTranslationX(translationOffset);
+        }
+    }
 
-                child.layout(childLeft, childTop, childLeft + width, childTop + height);
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        int slot = slotOf(child);
+        if(roleSlots[slot] != child) {
+            return;
+        }
+
+        //fall back to the last remaining child with the same gravity
+        roleSlots[slot] = null;
+        for(int i = getChildCount() - 1; i >= 0; i--) {
+            View view = getChildAt(i);
+            if(view != child && slotOf(view) == slot) {
+                roleSlots[slot] = view;
+                break;
             }
         }
     }
@@ -317,6 +937,12 @@ public class SwipeLayout extends ViewGroup {
 
         private int bringToClamp = BRING_TO_CLAMP_NO;
 
+        /**
+         * Put the child on a hardware layer while swiping, only applies to children with
+         * {@link View#LAYER_TYPE_NONE}.
+         */
+        private boolean hardwareLayer = true;
+
         public LayoutParams(Context c, AttributeSet attrs) {
             super(c, attrs);
 
@@ -326,6 +952,8 @@ public class SwipeLayout extends ViewGroup {
             bringToClamp = ta
                     .getLayoutDimension(R.styleable.SwipeLayout_Layout_layout_autoOpenDistance,
                             BRING_TO_CLAMP_NO);
+            hardwareLayer = ta
+                    .getBoolean(R.styleable.SwipeLayout_Layout_layout_hardwareLayer, true);
 
             ta.recycle();
         }
@@ -334,34 +962,324 @@ public class SwipeLayout extends ViewGroup {
             super(width, height);
         }
 
+        /**
+         * @param gravity {@link #LEFT}, {@link #CENTER} or {@link #RIGHT}
+         */
+        public LayoutParams(int width, int height, int gravity) {
+            super(width, height);
+            this.gravity = gravity;
+        }
+
         public LayoutParams(ViewGroup.LayoutParams source) {
             super(source);
         }
     }
 
-    public boolean isSwipeEnabled() {
-        return leftSwipeEnabled || rightSwipeEnabled;
-    }
+    static class SavedState extends BaseSavedState {
+        /**
+         * {@link LayoutParams#LEFT} or {@link LayoutParams#RIGHT} if that side was fully open,
+         * otherwise {@link LayoutParams#CENTER}
+         */
+        int side;
+        int offset;
+        boolean leftSwipeEnabled;
+        boolean rightSwipeEnabled;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        SavedState(Parcel in) {
+            super(in);
+            side = in.readInt();
+            offset = in.readInt();
+            leftSwipeEnabled = in.readInt() != 0;
+            rightSwipeEnabled = in.readInt() != 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(side);
+            out.writeInt(offset);
+            out.writeInt(leftSwipeEnabled ? 1 : 0);
+            out.writeInt(rightSwipeEnabled ? 1 : 0);
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    public boolean isSwipeEnabled() {
+        return leftSwipeEnabled || rightSwipeEnabled;
+    }
+
+    public void setSwipeEnabled(boolean swipeEnabled) {
+        leftSwipeEnabled = swipeEnabled;
+        rightSwipeEnabled = swipeEnabled;
+    }
 
     public boolean isLeftSwipeEnabled() {
         return leftSwipeEnabled;
     }
 
+    public void setLeftSwipeEnabled(boolean leftSwipeEnabled) {
+        this.leftSwipeEnabled = leftSwipeEnabled;
+    }
+
     public boolean isRightSwipeEnabled() {
         return rightSwipeEnabled;
     }
 
+    public void setRightSwipeEnabled(boolean rightSwipeEnabled) {
+        this.rightSwipeEnabled = rightSwipeEnabled;
+    }
+
+    public boolean isSwipeByTranslation() {
+        return swipeByTranslation;
+    }
+
+    /**
+     * Render the swipe offset by {@link View#setTranslationX(float)} of the children instead of
+     * moving them by {@link View#offsetLeftAndRight(int)}, layout positions of the children stay
+     * unchanged while swiping.
+     */
+    public void setSwipeByTranslation(boolean swipeByTranslation) {
+        if(this.swipeByTranslation == swipeByTranslation) {
+            return;
+        }
+
+        finishAnimator();
+        viewDragHelper.abort();
+        int offset = getOffset();
+        setOffset(0);
+        this.swipeByTranslation = swipeByTranslation;
+        setOffset(offset);
+    }
+
+    public boolean isSwipeHardwareLayer() {
+        return swipeHardwareLayer;
+    }
+
+    /**
+     * Put the children on {@link #LAYER_TYPE_HARDWARE} while swiping or settling, children can opt
+     * out by {@code app:layout_hardwareLayer="false"}. Default is true.
+     */
+    public void setSwipeHardwareLayer(boolean swipeHardwareLayer) {
+        this.swipeHardwareLayer = swipeHardwareLayer;
+        if(!swipeHardwareLayer) {
+            restoreLayers();
+        }
+    }
+
+    public float getSwipeAngle() {
+        return swipeAngle;
+    }
+
+    /**
+     * A move starts swiping only if its angle to the horizontal line is below {@code swipeAngle},
+     * otherwise the rest of the gesture is left to the parents without tracking it. Default is 45.
+     *
+     * @param swipeAngle degrees, between 0 and 90
+     */
+    public void setSwipeAngle(float swipeAngle) {
+        if(swipeAngle <= 0 || swipeAngle >= 90) {
+            throw new IllegalArgumentException("swipeAngle must be between 0 and 90");
+        }
+        this.swipeAngle = swipeAngle;
+        this.swipeAngleTan = (float) Math.tan(Math.toRadians(swipeAngle));
+    }
+
+    public float getSwipeMinDistance() {
+        return swipeMinDistance;
+    }
+
+    /**
+     * Horizontal distance before SwipeLayout starts tracking a move, default is touch slop.
+     *
+     * @param swipeMinDistance pixels
+     */
+    public void setSwipeMinDistance(float swipeMinDistance) {
+        this.swipeMinDistance = swipeMinDistance;
+    }
+
+    public int getSwipeEdgeStart() {
+        return swipeEdgeStart;
+    }
+
+    public int getSwipeEdgeEnd() {
+        return swipeEdgeEnd;
+    }
+
+    /**
+     * Only start swiping a closed SwipeLayout from its start or end edge, touches elsewhere go to
+     * the children without being tracked. Both 0 means the whole SwipeLayout, which is default.
+     *
+     * @param swipeEdgeStart width of the start edge in pixels
+     * @param swipeEdgeEnd   width of the end edge in pixels
+     */
+    public void setSwipeEdges(int swipeEdgeStart, int swipeEdgeEnd) {
+        this.swipeEdgeStart = swipeEdgeStart;
+        this.swipeEdgeEnd = swipeEdgeEnd;
+    }
+
+    public boolean isSwipePrediction() {
+        return swipePrediction;
+    }
+
+    /**
+     * Render the offset where the finger is expected to be in the next frame, by the current
+     * velocity. Reduces perceived latency on high refresh rate displays. Default is false.
+     */
+    public void setSwipePrediction(boolean swipePrediction) {
+        this.swipePrediction = swipePrediction;
+    }
+
+    public boolean isSpringSettle() {
+        return springSettle;
+    }
+
+    /**
+     * Settle by a spring which starts from the release velocity, instead of the fixed 200ms
+     * animation and {@link ViewDragHelper#settleCapturedViewAt(int, int)}.
+     *
+     * @see #setSpring(float, float)
+     */
+    public void setSpringSettle(boolean springSettle) {
+        if(!springSettle) {
+            finishSpring();
+        }
+        this.springSettle = springSettle;
+    }
+
+    /**
+     * @param stiffness    stiffness of the spring, default is {@link SwipeSpring#STIFFNESS_DEFAULT}
+     * @param dampingRatio damping ratio of the spring, 1 means no bounce, default is
+     *                     {@link SwipeSpring#DAMPING_RATIO_DEFAULT}
+     */
+    public void setSpring(float stiffness, float dampingRatio) {
+        spring.setStiffness(stiffness);
+        spring.setDampingRatio(dampingRatio);
+    }
+
+    public boolean isSinglePassMeasure() {
+        return singlePassMeasure;
+    }
+
+    /**
+     * Measure the center view once and measure the left/right views against its height, instead of
+     * measuring all children twice at the biggest child height.
+     * <p>
+     * In this mode the height of SwipeLayout is decided by the center view only.
+     */
+    public void setSinglePassMeasure(boolean singlePassMeasure) {
+        if(this.singlePassMeasure != singlePassMeasure) {
+            this.singlePassMeasure = singlePassMeasure;
+            invalidateMeasureCache();
+            requestLayout();
+        }
+    }
+
     private boolean internalOnInterceptTouchEvent(MotionEvent event) {
-        if(event.getActionMasked() == MotionEvent.ACTION_DOWN) {
-            onTouchBegin(event);
+        switch(event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                onTouchBegin(event);
+                if(touchState == TOUCH_STATE_SKIP) {
+                    return false;
+                }
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                if(touchState == TOUCH_STATE_SKIP) {
+                    return false;
+                }
+
+                velocityTracker.addMovement(event);
+
+                if(touchState == TOUCH_STATE_WAIT) {
+                    float dx = Math.abs(event.getX() - touchX);
+                    float dy = Math.abs(event.getY() - touchY);
+                    if(dy >= touchSlop && !isHorizontalSwipe(dx, dy)) {
+                        //vertical scroll, leave the rest of this gesture to the parents
+                        touchState = TOUCH_STATE_SKIP;
+                        viewDragHelper.cancel();
+                        if(metricsTracker != null) {
+                            metricsTracker.onSwipeDecided(false);
+                        }
+                        return false;
+                    }
+                    if(dx < swipeMinDistance) {
+                        return false;
+                    }
+
+                    //ViewDragHelper only captures the child if a side gives it room to move
+                    attachMenus();
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                //the gesture ended in a child or was taken by a parent, it was never intercepted
+                touchState = TOUCH_STATE_WAIT;
+                if(metricsTracker != null) {
+                    metricsTracker.onCancel();
+                }
+                releaseIfIdle();
+                break;
+
+            default:
+                break;
         }
         return viewDragHelper.shouldInterceptTouchEvent(event);
     }
 
+    /**
+     * A closed SwipeLayout only starts swiping from its edges if {@link #setSwipeEdges(int, int)}
+     * is set, an opened one can be swiped anywhere to close it.
+     */
+    private boolean isInSwipeZone(float x) {
+        if((swipeEdgeStart <= 0 && swipeEdgeEnd <= 0) || getOffset() != 0) {
+            return true;
+        }
+
+        boolean rtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        int leftEdge = rtl ? swipeEdgeEnd : swipeEdgeStart;
+        int rightEdge = rtl ? swipeEdgeStart : swipeEdgeEnd;
+        return x < leftEdge || x > getWidth() - rightEdge;
+    }
+
+    /**
+     * @return true if the angle between the move and horizontal line is below
+     * {@link #setSwipeAngle(float)}
+     */
+    private boolean isHorizontalSwipe(float dx, float dy) {
+        return dy < dx * swipeAngleTan;
+    }
+
     private void onTouchBegin(MotionEvent event) {
-        touchState = TOUCH_STATE_WAIT;
+        cancelEngineAnimation();
+        stopSpring();
+        //ViewDragHelper takes over a settling view on touch down
+        dragSettling = false;
+        dismissing = false;
+        touchState = isInSwipeZone(event.getX()) ? TOUCH_STATE_WAIT : TOUCH_STATE_SKIP;
         touchX = event.getX();
         touchY = event.getY();
+        velocityTracker.clear();
+        velocityTracker.addMovement(event);
+        if(metricsTracker != null && touchState != TOUCH_STATE_SKIP) {
+            metricsTracker.onTouchDown(event.getDownTime());
+        }
+        updateSwipeState();
     }
 
 
@@ -382,111 +1300,891 @@ public class SwipeLayout extends ViewGroup {
         switch(event.getActionMasked()) {
             case MotionEvent.ACTION_DOWN:
                 onTouchBegin(event);
+                pressedAction = findActionAt(event.getX(), event.getY());
+                if(touchState == TOUCH_STATE_SKIP && pressedAction == null) {
+                    return defaultResult;
+                }
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                velocityTracker.addMovement(event);
+                if(pressedAction != null && pressedAction != findActionAt(event.getX(),
+                        event.getY())) {
+                    pressedAction = null;
+                }
+                if(touchState == TOUCH_STATE_WAIT) {
+                    float dx = Math.abs(event.getX() - touchX);
+                    float dy = Math.abs(event.getY() - touchY);
+
+                    boolean isLeftToRight = (event.getX() - touchX) > 0;
+
+                    if(((isLeftToRight && !leftSwipeEnabled) || (!isLeftToRight && !rightSwipeEnabled))
+                            && getOffset() == 0) {
+
+                        return defaultResult;
+                    }
+
+                    if(dx >= touchSlop || dy >= touchSlop) {
+                        touchState = dy == 0 || isHorizontalSwipe(dx, dy)
+                                ? TOUCH_STATE_SWIPE : TOUCH_STATE_SKIP;
+                        if(metricsTracker != null) {
+                            metricsTracker.onSwipeDecided(touchState == TOUCH_STATE_SWIPE);
+                        }
+                        if(touchState == TOUCH_STATE_SWIPE) {
+                            requestDisallowInterceptTouchEvent(true);
+                            attachMenus();
+                            promoteLayers();
+                            notifySwipeStart();
+
+                            nestedLastX = (int) event.getX();
+                            nestedOffsetX = 0;
+                            startNestedScroll(ViewCompat.SCROLL_AXIS_HORIZONTAL,
+                                    ViewCompat.TYPE_TOUCH);
+                        }
+                    }
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+            case MotionEvent.ACTION_UP:
+                velocityTracker.addMovement(event);
+                if(touchState == TOUCH_STATE_SWIPE) {
+                    stopNestedScroll(ViewCompat.TYPE_TOUCH);
+                    requestDisallowInterceptTouchEvent(false);
+                } else if(event.getActionMasked() == MotionEvent.ACTION_UP
+                        && pressedAction != null && onActionClickListener != null) {
+                    onActionClickListener.onActionClick(this, pressedAction);
+                }
+                pressedAction = null;
+                touchState = TOUCH_STATE_WAIT;
+                break;
+            default:
                 break;
+        }
+
+        if(event.getActionMasked() == MotionEvent.ACTION_MOVE) {
+            if(touchState == TOUCH_STATE_SWIPE) {
+                processNestedDrag(event);
+            }
+        } else {
+            viewDragHelper.processTouchEvent(event);
+        }
+
+        if(event.getActionMasked() == MotionEvent.ACTION_UP
+                || event.getActionMasked() == MotionEvent.ACTION_CANCEL) {
+            releaseIfIdle();
+            if(metricsTracker != null) {
+                metricsTracker.onTouchUp(dragSettling || springRunning || isAnimatorRunning());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * get horizontal offset from initial position
+     */
+    public int getOffset() {
+        if(centerView == null) {
+            return 0;
+        }
+        return swipeByTranslation ? translationOffset : centerView.getLeft();
+    }
+
+    /**
+     * set horizontal offset from initial position
+     */
+    public void setOffset(int offset) {
+        if(centerView == null) {
+            return;
+        }
+
+        if(swipeByTranslation) {
+            translateChildren(offset);
+        } else {
+            offsetChildren(null, offset - centerView.getLeft());
+        }
+    }
+
+    /**
+     * Stop running animation and jump to given offset, without notifying
+     * {@link OnStateChangedListener}. Applied at once if SwipeLayout is laid out, otherwise during
+     * next layout, so it never costs an extra layout pass, e.g. when binding to a recycled item.
+     *
+     * @param offset positive to reveal left view, negative to reveal right view
+     */
+    public void setOffsetImmediately(int offset) {
+        swipeStateDeferred++;
+        dismissed = false;
+        abortAnimation();
+        if(centerView != null && !isLayoutRequested() && ViewCompat.isLaidOut(this)) {
+            hasPendingOffset = false;
+            if(offset != 0) {
+                attachMenus();
+            }
+            setOffset(resolveOffset(offset));
+            releaseMenusIfClosed();
+        } else {
+            pendingOffset = offset;
+            hasPendingOffset = true;
+        }
+        swipeStateDeferred--;
+        updateSwipeState();
+    }
+
+    private void translateChildren(int offset) {
+        if(offset == translationOffset) {
+            return;
+        }
+
+        long startNanos = metricsTracker != null ? System.nanoTime() : 0;
+        translationOffset = offset;
+        int count = getChildCount();
+        for(int i = 0; i < count; i++) {
+            getChildAt(i).setTranslationX(offset);
+        }
+        if(leftActionMenu != null || rightActionMenu != null) {
+            //actions are drawn by SwipeLayout itself, translating the children doesn't redraw it
+            invalidate();
+        }
+        if(metricsTracker != null) {
+            metricsTracker.addPositionTime(System.nanoTime() - startNanos);
+        }
+        scheduleSwipeProgress();
+    }
+
+    private void offsetChildren(View skip, int dx) {
+        if(dx == 0) {
+            return;
+        }
+
+        long startNanos = metricsTracker != null ? System.nanoTime() : 0;
+        int count = getChildCount();
+        for(int i = 0; i < count; i++) {
+            View child = getChildAt(i);
+            if(child != skip) {
+                child.offsetLeftAndRight(dx);
+            }
+
+            //only the part of old and new bounds inside SwipeLayout changed
+            int left = Math.max(Math.min(child.getLeft(), child.getLeft() - dx), 0);
+            int right = Math.min(Math.max(child.getRight(), child.getRight() - dx), getWidth());
+            if(left < right) {
+                invalidate(left, child.getTop(), right, child.getBottom());
+            }
+        }
+        if(leftActionMenu != null || rightActionMenu != null) {
+            //actions move with the children
+            invalidate();
+        }
+        if(metricsTracker != null) {
+            metricsTracker.addPositionTime(System.nanoTime() - startNanos);
+        }
+        scheduleSwipeProgress();
+    }
+
+    /**
+     * @return one of {@link #STATE_IDLE_CLOSED}, {@link #STATE_DRAGGING}, {@link #STATE_SETTLING},
+     * {@link #STATE_OPEN_LEFT}, {@link #STATE_OPEN_RIGHT}, {@link #STATE_DISMISSED}
+     */
+    public int getSwipeState() {
+        return swipeState;
+    }
+
+    /**
+     * Report every distinct transition of {@link #getSwipeState()} once.
+     */
+    public void setOnSwipeStateChangedListener(
+            OnSwipeStateChangedListener onSwipeStateChangedListener) {
+        this.onSwipeStateChangedListener = onSwipeStateChangedListener;
+    }
+
+    /**
+     * Derive the state from the running drag, settle and offset, and report it if it changed.
+     */
+    private void updateSwipeState() {
+        if(swipeStateDeferred > 0) {
+            return;
+        }
+
+        int newState;
+        int phase = getSwipePhase();
+        if(phase == OnSwipeProgressListener.PHASE_DRAGGING) {
+            newState = STATE_DRAGGING;
+        } else if(phase == OnSwipeProgressListener.PHASE_SETTLING) {
+            newState = STATE_SETTLING;
+        } else if(dismissing || dismissed) {
+            newState = STATE_DISMISSED;
+        } else {
+            int offset = getOffset();
+            newState = offset == 0 ? STATE_IDLE_CLOSED
+                    : offset > 0 ? STATE_OPEN_LEFT : STATE_OPEN_RIGHT;
+        }
+        if(phase != OnSwipeProgressListener.PHASE_IDLE) {
+            dismissed = false;
+        }
+
+        if(newState == swipeState) {
+            return;
+        }
+
+        int oldState = swipeState;
+        swipeState = newState;
+        if(onSwipeStateChangedListener != null) {
+            onSwipeStateChangedListener.onSwipeStateChanged(this, oldState, newState);
+        }
+    }
+
+    /**
+     * Offset changes of a frame are reported once, on the next animation frame.
+     */
+    private void scheduleSwipeProgress() {
+        if(onSwipeProgressListener != null && !swipeProgressScheduled) {
+            swipeProgressScheduled = true;
+            ViewCompat.postOnAnimation(this, swipeProgressRunnable);
+        }
+    }
+
+    private void dispatchSwipeProgress() {
+        swipeProgressScheduled = false;
+        if(onSwipeProgressListener == null) {
+            return;
+        }
+
+        int offset = getOffset();
+        int maxOffset = getMaxOffset();
+        int minOffset = getMinOffset();
+        float leftFraction = offset > 0 && maxOffset > 0
+                ? Math.min(offset / (float) maxOffset, 1f) : 0f;
+        float rightFraction = offset < 0 && minOffset < 0
+                ? Math.min(offset / (float) minOffset, 1f) : 0f;
+        onSwipeProgressListener
+                .onSwipeProgress(this, offset, leftFraction, rightFraction, getSwipePhase());
+    }
+
+    /**
+     * @return one of {@link OnSwipeProgressListener#PHASE_IDLE},
+     * {@link OnSwipeProgressListener#PHASE_DRAGGING}, {@link OnSwipeProgressListener#PHASE_SETTLING}
+     */
+    private int getSwipePhase() {
+        if(viewDragHelper.getViewDragState() == ViewDragHelper.STATE_DRAGGING) {
+            return OnSwipeProgressListener.PHASE_DRAGGING;
+        }
+        if(dragSettling || viewDragHelper.getViewDragState() == ViewDragHelper.STATE_SETTLING
+                || isAnimatorRunning() || springRunning || animationEngine != null) {
+            return OnSwipeProgressListener.PHASE_SETTLING;
+        }
+        return OnSwipeProgressListener.PHASE_IDLE;
+    }
+
+    /**
+     * Draw the revealed actions of the sides without a menu view, behind the children.
+     */
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        int offset = getOffset();
+        if(offset > 0 && leftView == null && leftActionMenu != null) {
+            int right = centerView.getLeft() + (int) centerView.getTranslationX();
+            int saveCount = canvas.save();
+            canvas.clipRect(0, getPaddingTop(), right, getHeight() - getPaddingBottom());
+            leftActionMenu.draw(canvas, getActionPaint(), getActionTextPaint(), getActionAtlas(),
+                    right - leftActionMenu.getWidth(), getPaddingTop(), right,
+                    getHeight() - getPaddingBottom(), getResources().getDisplayMetrics().density);
+            canvas.restoreToCount(saveCount);
+        } else if(offset < 0 && rightView == null && rightActionMenu != null) {
+            int left = centerView.getRight() + (int) centerView.getTranslationX();
+            int saveCount = canvas.save();
+            canvas.clipRect(left, getPaddingTop(), getWidth(), getHeight() - getPaddingBottom());
+            rightActionMenu.draw(canvas, getActionPaint(), getActionTextPaint(), getActionAtlas(),
+                    left, getPaddingTop(), getWidth(), getHeight() - getPaddingBottom(),
+                    getResources().getDisplayMetrics().density);
+            canvas.restoreToCount(saveCount);
+        }
+        super.dispatchDraw(canvas);
+    }
+
+    /**
+     * @return the revealed action at x, y, or null
+     */
+    private SwipeAction findActionAt(float x, float y) {
+        if(y < getPaddingTop() || y >= getHeight() - getPaddingBottom()) {
+            return null;
+        }
+
+        int offset = getOffset();
+        if(offset > 0 && leftView == null && leftActionMenu != null) {
+            int right = centerView.getLeft() + (int) centerView.getTranslationX();
+            return x < right
+                    ? leftActionMenu.findAction((int) x - right + leftActionMenu.getWidth()) : null;
+        }
+        if(offset < 0 && rightView == null && rightActionMenu != null) {
+            int left = centerView.getRight() + (int) centerView.getTranslationX();
+            return rightActionMenu.findAction((int) x - left);
+        }
+        return null;
+    }
+
+    private SwipeActionAtlas getActionAtlas() {
+        return actionAtlasEnabled ? SwipeActionAtlas.getInstance(getContext()) : null;
+    }
+
+    private Paint getActionPaint() {
+        if(actionPaint == null) {
+            actionPaint = new Paint();
+        }
+        return actionPaint;
+    }
+
+    private TextPaint getActionTextPaint() {
+        if(actionTextPaint == null) {
+            actionTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            actionTextPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                    ACTION_TEXT_SIZE_SP, getResources().getDisplayMetrics()));
+        }
+        return actionTextPaint;
+    }
+
+    /**
+     * Left/right views are only drawn in their revealed part, hidden ones are skipped.
+     */
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        if(child != leftView && child != rightView) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+
+        int translationX = (int) child.getTranslationX();
+        int left = Math.max(child.getLeft() + translationX, 0);
+        int right = Math.min(child.getRight() + translationX, getWidth());
+        if(left >= right) {
+            return false;
+        }
+
+        if(right - left == child.getWidth()) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+
+        int saveCount = canvas.save();
+        canvas.clipRect(left, child.getTop(), right, child.getBottom());
+        boolean result = super.drawChild(canvas, child, drawingTime);
+        canvas.restoreToCount(saveCount);
+        return result;
+    }
+
+    /**
+     * Put the visible children on {@link #LAYER_TYPE_HARDWARE} so they are composited from cached
+     * textures while swiping or settling.
+     *
+     * @see LayoutParams#hardwareLayer
+     */
+    private void promoteLayers() {
+        if(!swipeHardwareLayer || layersPromoted || !isHardwareAccelerated()) {
+            return;
+        }
+
+        layersPromoted = true;
+        promoteLayer(SLOT_LEFT, leftView);
+        promoteLayer(SLOT_CENTER, centerView);
+        promoteLayer(SLOT_RIGHT, rightView);
+    }
+
+    private void promoteLayer(int slot, View view) {
+        promotedViews[slot] = null;
+        if(view == null || view.getLayerType() != LAYER_TYPE_NONE
+                || !((LayoutParams) view.getLayoutParams()).hardwareLayer) {
+            return;
+        }
+
+        view.setLayerType(LAYER_TYPE_HARDWARE, null);
+        promotedViews[slot] = view;
+    }
+
+    /**
+     * Restore the layers and release the menus of {@link #menuProvider} once nothing moves
+     * SwipeLayout anymore.
+     */
+    private void releaseIfIdle() {
+        if(settleStarting == 0 && viewDragHelper.getViewDragState() == ViewDragHelper.STATE_IDLE
+                && !isAnimatorRunning() && animationEngine == null && !springRunning) {
+            restoreLayers();
+            releaseMenusIfClosed();
+        }
+    }
+
+    /**
+     * Restore the layer type of the children changed by {@link #promoteLayers()}.
+     */
+    private void restoreLayers() {
+        if(!layersPromoted) {
+            return;
+        }
+
+        layersPromoted = false;
+        for(int i = 0; i < promotedViews.length; i++) {
+            View view = promotedViews[i];
+            if(view != null) {
+                promotedViews[i] = null;
+                if(view.getLayerType() == LAYER_TYPE_HARDWARE) {
+                    view.setLayerType(LAYER_TYPE_NONE, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Continues the settle started by {@link ViewDragHelper#settleCapturedViewAt(int, int)}, it
+     * only runs while SwipeLayout is drawn, so a detached SwipeLayout never moves.
+     */
+    @Override
+    public void computeScroll() {
+        if(!dragSettling) {
+            return;
+        }
+
+        if(viewDragHelper.continueSettling(true)) {
+            ViewCompat.postInvalidateOnAnimation(this);
+        } else {
+            dragSettling = false;
+            if(metricsTracker != null) {
+                metricsTracker.onSettleEnd();
+            }
+            if(!dispatchDismissIfPending() && onStateChangedListener != null) {
+                onStateChangedListener.onChanged(isOpen(), this);
+            }
+        }
+    }
+
+    /**
+     * Stop running settle or animation where it is, without notifying
+     * {@link OnStateChangedListener}, e.g. before binding SwipeLayout to another item.
+     */
+    public void abortAnimation() {
+        if(metricsTracker != null) {
+            metricsTracker.onCancel();
+        }
+        dismissing = false;
+        if(dragSettling) {
+            dragSettling = false;
+            viewDragHelper.abort();
+        }
+        if(animator != null && animator.isRunning()) {
+            notifyOnAnimationEnd = false;
+            animator.cancel();
+        }
+        stopSpring();
+        if(animationEngine != null) {
+            animationEngine.stop(this);
+        }
+        releaseIfIdle();
+        updateSwipeState();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        getNestedScrollingChildHelper().onDetachedFromWindow();
+        if(metricsTracker != null) {
+            metricsTracker.onCancel();
+        }
+        if(dragSettling) {
+            dragSettling = false;
+            viewDragHelper.abort();
+        }
+        cancelEngineAnimation();
+        finishAnimator();
+        finishSpring();
+        restoreLayers();
+        releaseMenusIfClosed();
+        if(swipeProgressScheduled) {
+            swipeProgressScheduled = false;
+            removeCallbacks(swipeProgressRunnable);
+        }
+        //the user already swiped it out, report it even if the settle was cut short
+        dispatchDismissIfPending();
+    }
+
+    /**
+     * @return true if the settle which just ended swiped SwipeLayout out
+     */
+    private boolean dispatchDismissIfPending() {
+        if(!dismissing) {
+            return false;
+        }
+
+        dismissing = false;
+        dismissed = true;
+        updateSwipeState();
+        if(dismissListener != null) {
+            dismissListener.onDismissed(this,
+                    getOffset() > 0 ? LayoutParams.LEFT : LayoutParams.RIGHT);
+        }
+        return true;
+    }
+
+    /**
+     * @param xvel release velocity, pixels per second
+     * @return true if releasing at current offset should swipe SwipeLayout out
+     */
+    private boolean shouldDismiss(float xvel) {
+        int offset = getOffset();
+        if(!dismissEnabled || offset == 0) {
+            return false;
+        }
+
+        float velocity = offset > 0 ? xvel : -xvel;
+        if(Math.abs(offset) >= dismissThreshold * getWidth()) {
+            return velocity >= -velocityThreshold;
+        }
+
+        //a fling past the menu dismisses as well
+        int menuWidth = offset > 0 ? getMaxOffset() : -getMinOffset();
+        return velocity > velocityThreshold && Math.abs(offset) > menuWidth;
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState ss = new SavedState(super.onSaveInstanceState());
+        int offset = getOffset();
+        if(offset != 0 && offset == getMaxOffset()) {
+            ss.side = LayoutParams.LEFT;
+        } else if(offset != 0 && offset == getMinOffset()) {
+            ss.side = LayoutParams.RIGHT;
+        } else {
+            ss.side = LayoutParams.CENTER;
+        }
+        ss.offset = offset;
+        ss.leftSwipeEnabled = leftSwipeEnabled;
+        ss.rightSwipeEnabled = rightSwipeEnabled;
+        return ss;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if(!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+
+        SavedState ss = (SavedState) state;
+        super.onRestoreInstanceState(ss.getSuperState());
+        leftSwipeEnabled = ss.leftSwipeEnabled;
+        rightSwipeEnabled = ss.rightSwipeEnabled;
+
+        //a fully open side stays fully open even if the side view's width changed, resolved on
+        //layout
+        int offset = ss.offset;
+        if(ss.side == LayoutParams.LEFT) {
+            offset = Integer.MAX_VALUE;
+        } else if(ss.side == LayoutParams.RIGHT) {
+            offset = Integer.MIN_VALUE;
+        }
+        setOffsetImmediately(offset);
+    }
+
+    /**
+     * Lets nested scrolling parents consume the horizontal move before and after SwipeLayout, the
+     * distance consumed by them is removed from the event passed to {@link ViewDragHelper}.
+     */
+    private void processNestedDrag(MotionEvent event) {
+        int x = (int) event.getX();
+        int scrollDx = nestedLastX - x;
+        nestedLastX = x;
+
+        nestedScrollConsumed[0] = 0;
+        if(scrollDx != 0 && dispatchNestedPreScroll(scrollDx, 0, nestedScrollConsumed,
+                nestedScrollOffset, ViewCompat.TYPE_TOUCH)) {
+            nestedOffsetX += nestedScrollConsumed[0];
+            nestedLastX -= nestedScrollOffset[0];
+        }
+
+        int offset = getOffset();
+        float eventOffsetX = nestedOffsetX + predictDistance();
+        event.offsetLocation(eventOffsetX, 0);
+        viewDragHelper.processTouchEvent(event);
+        event.offsetLocation(-eventOffsetX, 0);
+
+        int consumedDx = offset - getOffset();
+        int unconsumedDx = scrollDx - nestedScrollConsumed[0] - consumedDx;
+        if(unconsumedDx != 0 && dispatchNestedScroll(consumedDx, 0, unconsumedDx, 0,
+                nestedScrollOffset, ViewCompat.TYPE_TOUCH)) {
+            nestedLastX -= nestedScrollOffset[0];
+        }
+    }
+
+    /**
+     * Created lazily, because View's constructor may call
+     * {@link #setNestedScrollingEnabled(boolean)} before fields are initialized.
+     */
+    private NestedScrollingChildHelper getNestedScrollingChildHelper() {
+        if(nestedScrollingChildHelper == null) {
+            nestedScrollingChildHelper = new NestedScrollingChildHelper(this);
+        }
+        return nestedScrollingChildHelper;
+    }
+
+    /**
+     * @return distance the finger is expected to move in the next frame when
+     * {@link #setSwipePrediction(boolean)} is on, no more than touch slop
+     */
+    private float predictDistance() {
+        if(!swipePrediction) {
+            return 0;
+        }
+
+        float distance = getReleaseVelocity() * frameIntervalSeconds;
+        return Math.max(-touchSlop, Math.min(distance, touchSlop));
+    }
+
+    /**
+     * @return velocity fitted to the recent touch samples, limited to the max fling velocity
+     */
+    private float getReleaseVelocity() {
+        float velocity = velocityTracker.computeVelocity();
+        return Math.max(-maxVelocity, Math.min(velocity, maxVelocity));
+    }
+
+    private long getFrameBudgetNanos() {
+        WindowManager windowManager =
+                (WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
+        float refreshRate = windowManager == null
+                ? 0 : windowManager.getDefaultDisplay().getRefreshRate();
+        return (long) (1000000000L / (refreshRate > 0 ? refreshRate : 60f));
+    }
+
+    @Override
+    public void setNestedScrollingEnabled(boolean enabled) {
+        getNestedScrollingChildHelper().setNestedScrollingEnabled(enabled);
+    }
+
+    @Override
+    public boolean isNestedScrollingEnabled() {
+        return getNestedScrollingChildHelper().isNestedScrollingEnabled();
+    }
+
+    @Override
+    public boolean startNestedScroll(int axes) {
+        return startNestedScroll(axes, ViewCompat.TYPE_TOUCH);
+    }
+
+    @Override
+    public boolean startNestedScroll(int axes, int type) {
+        return getNestedScrollingChildHelper().startNestedScroll(axes, type);
+    }
+
+    @Override
+    public void stopNestedScroll() {
+        stopNestedScroll(ViewCompat.TYPE_TOUCH);
+    }
+
+    @Override
+    public void stopNestedScroll(int type) {
+        getNestedScrollingChildHelper().stopNestedScroll(type);
+    }
+
+    @Override
+    public boolean hasNestedScrollingParent() {
+        return hasNestedScrollingParent(ViewCompat.TYPE_TOUCH);
+    }
 
-            case MotionEvent.ACTION_MOVE:
-                if(touchState == TOUCH_STATE_WAIT) {
-                    float dx = Math.abs(event.getX() - touchX);
-                    float dy = Math.abs(event.getY() - touchY);
+    @Override
+    public boolean hasNestedScrollingParent(int type) {
+        return getNestedScrollingChildHelper().hasNestedScrollingParent(type);
+    }
 
-                    boolean isLeftToRight = (event.getX() - touchX) > 0;
+    @Override
+    public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                        int dyUnconsumed, int[] offsetInWindow) {
+        return dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed,
+                offsetInWindow, ViewCompat.TYPE_TOUCH);
+    }
 
-                    if(((isLeftToRight && !leftSwipeEnabled) || (!isLeftToRight && !rightSwipeEnabled))
-                            && getOffset() == 0) {
+    @Override
+    public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                        int dyUnconsumed, int[] offsetInWindow, int type) {
+        return getNestedScrollingChildHelper().dispatchNestedScroll(dxConsumed, dyConsumed,
+                dxUnconsumed, dyUnconsumed, offsetInWindow, type);
+    }
 
-                        return defaultResult;
-                    }
+    @Override
+    public void dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                     int dyUnconsumed, int[] offsetInWindow, int type,
+                                     @NonNull int[] consumed) {
+        getNestedScrollingChildHelper().dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed,
+                dyUnconsumed, offsetInWindow, type, consumed);
+    }
 
-                    if(dx >= touchSlop || dy >= touchSlop) {
-                        touchState = dy == 0 || dx / dy > 1f ? TOUCH_STATE_SWIPE : TOUCH_STATE_SKIP;
-                        if(touchState == TOUCH_STATE_SWIPE) {
-                            requestDisallowInterceptTouchEvent(true);
+    @Override
+    public boolean dispatchNestedPreScroll(int dx, int dy, int[] consumed, int[] offsetInWindow) {
+        return dispatchNestedPreScroll(dx, dy, consumed, offsetInWindow, ViewCompat.TYPE_TOUCH);
+    }
 
-                            hackParents();
-                        }
-                    }
-                }
-                break;
+    @Override
+    public boolean dispatchNestedPreScroll(int dx, int dy, int[] consumed, int[] offsetInWindow,
+                                           int type) {
+        return getNestedScrollingChildHelper().dispatchNestedPreScroll(dx, dy, consumed,
+                offsetInWindow, type);
+    }
 
-            case MotionEvent.ACTION_CANCEL:
-            case MotionEvent.ACTION_UP:
-                if(touchState == TOUCH_STATE_SWIPE) {
-                    unHackParents();
-                    requestDisallowInterceptTouchEvent(false);
-                }
-                touchState = TOUCH_STATE_WAIT;
-                break;
-            default:
-                break;
-        }
+    @Override
+    public boolean dispatchNestedFling(float velocityX, float velocityY, boolean consumed) {
+        return getNestedScrollingChildHelper().dispatchNestedFling(velocityX, velocityY, consumed);
+    }
 
-        if(event.getActionMasked() != MotionEvent.ACTION_MOVE || touchState == TOUCH_STATE_SWIPE) {
-            viewDragHelper.processTouchEvent(event);
-        }
+    @Override
+    public boolean dispatchNestedPreFling(float velocityX, float velocityY) {
+        return getNestedScrollingChildHelper().dispatchNestedPreFling(velocityX, velocityY);
+    }
 
-        return true;
+    /**
+     * @return max offset when swiping to right, equals to left view's or left actions' width
+     */
+    private int getMaxOffset() {
+        if(leftView != null) {
+            return leftView.getWidth();
+        }
+        return leftActionMenu == null ? 0 : leftActionMenu.getWidth();
     }
 
     /**
-     * get horizontal offset from initial position
+     * @return min offset when swiping to left, equals to negative right view's or right actions'
+     * width
      */
-    public int getOffset() {
-        return centerView == null ? 0 : centerView.getLeft();
+    private int getMinOffset() {
+        if(rightView != null) {
+            return -rightView.getWidth();
+        }
+        return rightActionMenu == null ? 0 : -rightActionMenu.getWidth();
     }
 
     /**
-     * set horizontal offset from initial position
+     * @param arrayRes array of dimensions
      */
-    public void setOffset(int offset) {
-        if(centerView != null) {
-            offsetChildren(null, offset - centerView.getLeft());
+    private int[] readSnapPoints(int arrayRes) {
+        TypedArray ta = getResources().obtainTypedArray(arrayRes);
+        int[] snapPoints = new int[ta.length()];
+        for(int i = 0; i < snapPoints.length; i++) {
+            snapPoints[i] = ta.getDimensionPixelSize(i, 0);
         }
+        ta.recycle();
+        return snapPoints;
     }
 
-    private void offsetChildren(View skip, int dx) {
-        if(dx == 0) {
+    /**
+     * Collect 0, the snap points of both sides and the full reveal of both sides into
+     * {@link #snapOffsets}, only if the snap points or the offset range changed since last time.
+     */
+    private void rebuildSnapOffsets() {
+        int minOffset = getMinOffset();
+        int maxOffset = getMaxOffset();
+        if(!snapOffsetsDirty && minOffset == snapMinOffset && maxOffset == snapMaxOffset) {
             return;
         }
 
-        int count = getChildCount();
-        for(int i = 0; i < count; i++) {
-            View child = getChildAt(i);
-            if(child == skip) {
-                continue;
+        snapOffsetsDirty = false;
+        snapMinOffset = minOffset;
+        snapMaxOffset = maxOffset;
+
+        int capacity = leftSnapPoints.length + rightSnapPoints.length + 3;
+        if(snapOffsets.length < capacity) {
+            snapOffsets = new int[capacity];
+        }
+
+        //snap points beyond the menu are only reachable in dismiss mode
+        int leftBound = dismissEnabled ? getWidth() : maxOffset;
+        int rightBound = dismissEnabled ? getWidth() : -minOffset;
+        int count = 0;
+        snapOffsets[count++] = minOffset;
+        snapOffsets[count++] = 0;
+        snapOffsets[count++] = maxOffset;
+        for(int snapPoint : leftSnapPoints) {
+            if(snapPoint > 0 && snapPoint < leftBound) {
+                snapOffsets[count++] = snapPoint;
+            }
+        }
+        for(int snapPoint : rightSnapPoints) {
+            if(snapPoint > 0 && snapPoint < rightBound) {
+                snapOffsets[count++] = -snapPoint;
             }
+        }
+        Arrays.sort(snapOffsets, 0, count);
 
-            child.offsetLeftAndRight(dx);
-            invalidate(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
+        int unique = 0;
+        for(int i = 0; i < count; i++) {
+            if(unique == 0 || snapOffsets[unique - 1] != snapOffsets[i]) {
+                snapOffsets[unique++] = snapOffsets[i];
+            }
         }
+        snapOffsetCount = unique;
     }
 
-    private void hackParents() {
-        ViewParent parent = getParent();
-        while(parent != null) {
-            if(parent instanceof NestedScrollingParent) {
-                View view = (View) parent;
-                hackedParents.put(view, view.isEnabled());
+    /**
+     * Binary search the snap offsets around current offset, a fling moves to the next one in its
+     * direction, otherwise the nearest one is taken.
+     *
+     * @param xvel release velocity, pixels per second
+     */
+    private int resolveSnapOffset(float xvel) {
+        rebuildSnapOffsets();
+        int offset = getOffset();
+        boolean flingRight = xvel > velocityThreshold;
+        boolean flingLeft = -xvel > velocityThreshold;
+
+        int index = Arrays.binarySearch(snapOffsets, 0, snapOffsetCount, offset);
+        if(index >= 0) {
+            if(flingRight && index < snapOffsetCount - 1) {
+                return snapOffsets[index + 1];
+            }
+            if(flingLeft && index > 0) {
+                return snapOffsets[index - 1];
             }
-            parent = parent.getParent();
+            return offset;
+        }
+
+        int upper = ~index;
+        int lower = upper - 1;
+        if(upper == snapOffsetCount) {
+            return snapOffsets[lower];
         }
+        if(lower < 0) {
+            return snapOffsets[upper];
+        }
+        if(flingRight) {
+            return snapOffsets[upper];
+        }
+        if(flingLeft) {
+            return snapOffsets[lower];
+        }
+        return offset - snapOffsets[lower] < snapOffsets[upper] - offset
+                ? snapOffsets[lower] : snapOffsets[upper];
     }
 
-    private void unHackParents() {
-        for(Map.Entry<View, Boolean> entry : hackedParents.entrySet()) {
-            View view = entry.getKey();
-            if(view != null) {
-                view.setEnabled(entry.getValue());
-            }
+    /**
+     * Like {@link #clampOffset(int)}, but {@link Integer#MAX_VALUE}/{@link Integer#MIN_VALUE}
+     * fully open the left/right side even if dismissing allows a bigger offset.
+     */
+    private int resolveOffset(int offset) {
+        if(offset == Integer.MAX_VALUE) {
+            return getMaxOffset();
+        }
+        if(offset == Integer.MIN_VALUE) {
+            return getMinOffset();
         }
-        hackedParents.clear();
+        return clampOffset(offset);
+    }
+
+    private int clampOffset(int offset) {
+        if(dismissEnabled) {
+            return Math.max(-getWidth(), Math.min(offset, getWidth()));
+        }
+        return Math.max(getMinOffset(), Math.min(offset, getMaxOffset()));
     }
 
     private ViewDragHelper.Callback mCallback = new ViewDragHelper.Callback() {
-        private int initLeft;
+        private int initOffset;
 
         @Override
         public boolean tryCaptureView(@NonNull View child, int pointerId) {
-            initLeft = child.getLeft();
+            initOffset = getOffset();
             return true;
         }
 
@@ -497,20 +2195,56 @@ public class SwipeLayout extends ViewGroup {
 
         @Override
         public int clampViewPositionHorizontal(@NonNull View child, int left, int dx) {
-            if(dx > 0) {
-                return clampMoveRight(child, left);
-            } else {
-                return clampMoveLeft(child, left);
-            }
+            int offset = clampOffset(getOffset() + left - child.getLeft());
+            return child.getLeft() + offset - getOffset();
         }
 
         @Override
         public void onViewReleased(@NonNull View releasedChild, float xvel, float yvel) {
-            int dx = releasedChild.getLeft() - initLeft;
+            //least squares fit of all touch samples instead of the latest ones only
+            xvel = getReleaseVelocity();
+            int dx = getOffset() - initOffset;
             if(dx == 0) {
                 return;
             }
 
+            if(shouldDismiss(xvel)) {
+                dismissing = true;
+                int targetOffset = getOffset() > 0 ? getWidth() : -getWidth();
+                if(targetOffset == getOffset()) {
+                    //already swiped out, nothing to settle
+                    viewDragHelper.abort();
+                    dispatchDismissIfPending();
+                } else {
+                    startScrollAnimation(releasedChild, targetOffset, xvel);
+                }
+                return;
+            }
+
+            if(leftSnapPoints.length > 0 || rightSnapPoints.length > 0) {
+                int targetOffset = resolveSnapOffset(xvel);
+                if(targetOffset == getOffset()) {
+                    //nothing to settle, go idle now like a finished settle, which releases menus
+                    //and layers and updates the swipe state in onViewDragStateChanged()
+                    viewDragHelper.abort();
+                    if(onStateChangedListener != null) {
+                        onStateChangedListener.onChanged(isOpen(), SwipeLayout.this);
+                    }
+                } else {
+                    startScrollAnimation(releasedChild, targetOffset, xvel);
+                }
+                return;
+            }
+
+            int offset = getOffset();
+            if(offset > getMaxOffset() || offset < getMinOffset()) {
+                //past the menu without dismissing, settle to the menu or close if flung back
+                boolean flungBack = (offset > 0 ? xvel : -xvel) < -velocityThreshold;
+                startScrollAnimation(releasedChild, flungBack ? 0
+                        : offset > 0 ? getMaxOffset() : getMinOffset(), xvel);
+                return;
+            }
+
             boolean handled = false;
             if(dx > 0) {
 
@@ -522,49 +2256,47 @@ public class SwipeLayout extends ViewGroup {
             }
 
             if(!handled) {
-                startScrollAnimation(releasedChild, releasedChild.getLeft() - centerView.getLeft(),
-                        false, dx > 0);
+                startScrollAnimation(releasedChild, 0, xvel);
             }
         }
 
         @Override
         public void onViewPositionChanged(View changedView, int left, int top, int dx, int dy) {
-            offsetChildren(changedView, dx);
-        }
-
-        private int clampMoveRight(View child, int left) {
-            if(leftView == null) {
-                return child == centerView ? Math.min(left, 0) : Math.min(left, getWidth());
+            if(swipeByTranslation) {
+                //move the captured view back, the offset is rendered by translationX
+                changedView.offsetLeftAndRight(-dx);
+                setOffset(getOffset() + dx);
+                return;
             }
-
-            return Math.min(left, child.getLeft() - leftView.getLeft());
+            offsetChildren(changedView, dx);
         }
 
-        private int clampMoveLeft(View child, int left) {
-            if(rightView == null) {
-                return child == centerView ? Math.max(left, 0) : Math.max(left, -child.getWidth());
+        @Override
+        public void onViewDragStateChanged(int state) {
+            if(state == ViewDragHelper.STATE_IDLE) {
+                //a settle finished by computeScroll() already cleared it, so it was aborted
+                dragSettling = false;
+                releaseIfIdle();
             }
-
-            return Math.max(left,
-                    getWidth() - rightView.getLeft() + child.getLeft() - rightView.getWidth());
+            updateSwipeState();
         }
 
         private boolean onMoveRightReleased(View child, int dx, float xvel) {
 
             if(xvel > velocityThreshold) {
-                int left = centerView.getLeft() < 0 ? child.getLeft() - centerView
-                        .getLeft() : getWidth();
-                boolean moveToOriginal = centerView.getLeft() < 0;
-                startScrollAnimation(child, clampMoveRight(child, left), !moveToOriginal, true);
+                boolean moveToOriginal = getOffset() < 0;
+                startScrollAnimation(child, moveToOriginal ? 0 : getMaxOffset(), xvel);
                 return true;
             }
 
-            if(leftView == null) {
-                startScrollAnimation(child, child.getLeft() - centerView.getLeft(), false, true);
+            if(getMaxOffset() == 0) {
+                startScrollAnimation(child, 0, xvel);
                 return true;
             }
 
-            LayoutParams lp = getLayoutParams(leftView);
+            //actions drawn on the canvas have no layout params
+            int bringToClamp = leftView == null ? LayoutParams.BRING_TO_CLAMP_NO
+                    : getLayoutParams(leftView).bringToClamp;
 
             if(dx > 0 && xvel >= 0 && leftViewClampReached()) {
                 if(onStateChangedListener != null) {
@@ -573,11 +2305,9 @@ public class SwipeLayout extends ViewGroup {
                 return true;
             }
 
-            if(dx > 0 && xvel >= 0 && lp.bringToClamp != LayoutParams.BRING_TO_CLAMP_NO && leftView
-                    .getRight() > lp.bringToClamp) {
-                int left = centerView.getLeft() < 0 ? child.getLeft() - centerView
-                        .getLeft() : getWidth();
-                startScrollAnimation(child, clampMoveRight(child, left), true, true);
+            if(dx > 0 && xvel >= 0 && bringToClamp != LayoutParams.BRING_TO_CLAMP_NO
+                    && getOffset() > bringToClamp) {
+                startScrollAnimation(child, getMaxOffset(), xvel);
                 return true;
             }
 
@@ -586,19 +2316,18 @@ public class SwipeLayout extends ViewGroup {
 
         private boolean onMoveLeftReleased(View child, int dx, float xvel) {
             if(-xvel > velocityThreshold) {
-                int left = centerView.getLeft() > 0 ? child.getLeft() - centerView
-                        .getLeft() : -getWidth();
-                boolean moveToOriginal = centerView.getLeft() > 0;
-                startScrollAnimation(child, clampMoveLeft(child, left), !moveToOriginal, false);
+                boolean moveToOriginal = getOffset() > 0;
+                startScrollAnimation(child, moveToOriginal ? 0 : getMinOffset(), xvel);
                 return true;
             }
 
-            if(rightView == null) {
-                startScrollAnimation(child, child.getLeft() - centerView.getLeft(), false, false);
+            if(getMinOffset() == 0) {
+                startScrollAnimation(child, 0, xvel);
                 return true;
             }
 
-            LayoutParams lp = getLayoutParams(rightView);
+            int bringToClamp = rightView == null ? LayoutParams.BRING_TO_CLAMP_NO
+                    : getLayoutParams(rightView).bringToClamp;
 
             if(dx < 0 && xvel <= 0 && rightViewClampReached()) {
                 if(onStateChangedListener != null) {
@@ -607,48 +2336,50 @@ public class SwipeLayout extends ViewGroup {
                 return true;
             }
 
-            if(dx < 0 && xvel <= 0 && lp.bringToClamp != LayoutParams.BRING_TO_CLAMP_NO && rightView
-                    .getLeft() + lp.bringToClamp < getWidth()) {
-                int left = centerView.getLeft() > 0 ? child.getLeft() - centerView
-                        .getLeft() : -getWidth();
-                startScrollAnimation(child, clampMoveLeft(child, left), true, false);
+            if(dx < 0 && xvel <= 0 && bringToClamp != LayoutParams.BRING_TO_CLAMP_NO
+                    && -getOffset() > bringToClamp) {
+                startScrollAnimation(child, getMinOffset(), xvel);
                 return true;
             }
 
             return false;
         }
 
-        private void startScrollAnimation(final View view, int targetX, boolean moveToClamp,
-                                          boolean toRight) {
+        /**
+         * @param targetOffset offset of SwipeLayout when the animation ends
+         * @param xvel         release velocity, pixels per second
+         */
+        private void startScrollAnimation(View view, int targetOffset, float xvel) {
+            if(springSettle) {
+                if(targetOffset != getOffset()) {
+                    startSpring(targetOffset, xvel, true);
+                }
+                return;
+            }
+
+            if(swipeByTranslation) {
+                if(targetOffset != getOffset()) {
+                    runAnimation(getOffset(), targetOffset, true);
+                }
+                return;
+            }
+
+            int targetX = view.getLeft() + targetOffset - getOffset();
             if(viewDragHelper.settleCapturedViewAt(targetX, view.getTop())) {
-                ViewCompat.postOnAnimation(view, new Runnable() {
-                    @Override
-                    public void run() {
-                        if(viewDragHelper.continueSettling(true)) {
-                            ViewCompat.postOnAnimation(view, this);
-                        } else {
-                            if(onStateChangedListener != null) {
-                                onStateChangedListener.onChanged(isOpen(), SwipeLayout.this);
-                            }
-                        }
-                    }
-                });
+                promoteLayers();
+                dragSettling = true;
+                ViewCompat.postInvalidateOnAnimation(SwipeLayout.this);
             }
         }
 
         private boolean leftViewClampReached() {
-            if(leftView == null) {
-                return false;
-            }
-            return leftView.getRight() >= leftView.getWidth();
+            int maxOffset = getMaxOffset();
+            return maxOffset != 0 && getOffset() >= maxOffset;
         }
 
         private boolean rightViewClampReached() {
-            if(rightView == null) {
-                return false;
-            }
-
-            return rightView.getRight() <= getWidth();
+            int minOffset = getMinOffset();
+            return minOffset != 0 && getOffset() <= minOffset;
         }
 
         private LayoutParams getLayoutParams(View view) {
@@ -656,10 +2387,212 @@ public class SwipeLayout extends ViewGroup {
         }
     };
 
+    /**
+     * Horizontal offset of SwipeLayout, see {@link #getOffset()} and {@link #setOffset(int)}
+     */
+    public static final Property<SwipeLayout, Integer> OFFSET =
+            new Property<SwipeLayout, Integer>(Integer.class, "offset") {
+                @Override
+                public Integer get(SwipeLayout object) {
+                    return object.getOffset();
+                }
+
+                @Override
+                public void set(SwipeLayout object, Integer value) {
+                    object.setOffset(value);
+                }
+            };
+
     public void setOnStateChangedListener(OnStateChangedListener onStateChangedListener) {
         this.onStateChangedListener = onStateChangedListener;
     }
 
+    @Nullable
+    public SwipeCoordinator getSwipeCoordinator() {
+        return swipeCoordinator;
+    }
+
+    /**
+     * Set by {@link SwipeCoordinator#attachToRecyclerView} for item views which are
+     * SwipeLayouts, call it when binding if SwipeLayout is inside the item view.
+     */
+    public void setSwipeCoordinator(@Nullable SwipeCoordinator swipeCoordinator) {
+        if(this.swipeCoordinator != null && this.swipeCoordinator != swipeCoordinator) {
+            this.swipeCoordinator.onSwipeLayoutRemoved(this);
+        }
+        this.swipeCoordinator = swipeCoordinator;
+    }
+
+    public boolean isDismissEnabled() {
+        return dismissEnabled;
+    }
+
+    /**
+     * Let a full swipe move SwipeLayout out and report it to {@link DismissListener}, instead of
+     * stopping at the menu. Default is false.
+     */
+    public void setDismissEnabled(boolean dismissEnabled) {
+        this.dismissEnabled = dismissEnabled;
+        snapOffsetsDirty = true;
+    }
+
+    public float getDismissThreshold() {
+        return dismissThreshold;
+    }
+
+    /**
+     * Releasing beyond {@code dismissThreshold} of the width dismisses, unless flung back. A fling
+     * past the menu dismisses as well. Default is 0.5.
+     *
+     * @param dismissThreshold fraction of the width, between 0 and 1
+     */
+    public void setDismissThreshold(float dismissThreshold) {
+        if(dismissThreshold <= 0 || dismissThreshold > 1) {
+            throw new IllegalArgumentException("dismissThreshold must be in (0, 1]");
+        }
+        this.dismissThreshold = dismissThreshold;
+    }
+
+    /**
+     * Follow the offset while dragging or settling, e.g. to scale menu icons, reported at most once
+     * per frame.
+     */
+    public void setOnSwipeProgressListener(OnSwipeProgressListener onSwipeProgressListener) {
+        this.onSwipeProgressListener = onSwipeProgressListener;
+    }
+
+    public void setDismissListener(DismissListener dismissListener) {
+        this.dismissListener = dismissListener;
+    }
+
+    /**
+     * Draw actions on the left side instead of a left menu view, ignored if there is a left menu.
+     * Same as {@code app:leftActions}.
+     */
+    public void setLeftActions(@Nullable SwipeAction... actions) {
+        leftActionMenu = actions == null || actions.length == 0
+                ? null : new SwipeActionMenu(actions);
+        invalidate();
+    }
+
+    /**
+     * Draw actions on the right side instead of a right menu view, ignored if there is a right
+     * menu. Same as {@code app:rightActions}.
+     */
+    public void setRightActions(@Nullable SwipeAction... actions) {
+        rightActionMenu = actions == null || actions.length == 0
+                ? null : new SwipeActionMenu(actions);
+        invalidate();
+    }
+
+    /**
+     * Text size of the labels of {@link SwipeAction}s, default is 14sp.
+     *
+     * @param textSize pixels
+     */
+    public void setActionTextSize(float textSize) {
+        getActionTextPaint().setTextSize(textSize);
+        invalidate();
+    }
+
+    /**
+     * Let a release settle at partial reveals of left view as well, instead of only closed or
+     * fully open. Replaces {@code layout_autoOpenDistance} of left view. Same as
+     * {@code app:leftSnapPoints}, an array of dimensions.
+     *
+     * @param snapPoints revealed width of left view, pixels
+     */
+    public void setLeftSnapPoints(@Nullable int... snapPoints) {
+        leftSnapPoints = snapPoints == null ? NO_SNAP_POINTS : snapPoints.clone();
+        snapOffsetsDirty = true;
+    }
+
+    /**
+     * Let a release settle at partial reveals of right view as well, instead of only closed or
+     * fully open. Replaces {@code layout_autoOpenDistance} of right view. Same as
+     * {@code app:rightSnapPoints}, an array of dimensions.
+     *
+     * @param snapPoints revealed width of right view, pixels
+     */
+    public void setRightSnapPoints(@Nullable int... snapPoints) {
+        rightSnapPoints = snapPoints == null ? NO_SNAP_POINTS : snapPoints.clone();
+        snapOffsetsDirty = true;
+    }
+
+    public boolean isActionAtlasEnabled() {
+        return actionAtlasEnabled;
+    }
+
+    /**
+     * Blit {@link SwipeAction}s from the shared {@link SwipeActionAtlas} instead of drawing their
+     * icons and labels on every frame. Default is true.
+     */
+    public void setActionAtlasEnabled(boolean actionAtlasEnabled) {
+        this.actionAtlasEnabled = actionAtlasEnabled;
+        invalidate();
+    }
+
+    public void setOnActionClickListener(OnActionClickListener onActionClickListener) {
+        this.onActionClickListener = onActionClickListener;
+    }
+
+    /**
+     * Inflate left menu from {@code menuLayout} the first time it is revealed, like
+     * {@code app:leftMenuLayout}. Until then measure and layout skip it. Ignored if SwipeLayout
+     * has a left menu already.
+     *
+     * @param menuLayout 0 for none
+     */
+    public void setLeftMenuLayout(@LayoutRes int menuLayout) {
+        leftMenuLayout = menuLayout;
+    }
+
+    /**
+     * Inflate right menu from {@code menuLayout} the first time it is revealed, like
+     * {@code app:rightMenuLayout}. Until then measure and layout skip it. Ignored if SwipeLayout
+     * has a right menu already.
+     *
+     * @param menuLayout 0 for none
+     */
+    public void setRightMenuLayout(@LayoutRes int menuLayout) {
+        rightMenuLayout = menuLayout;
+    }
+
+    /**
+     * Provide left/right menus on demand instead of keeping them as children, e.g. for list rows.
+     * A menu is taken from {@code menuViewPool} when the swipe starts or SwipeLayout is opened
+     * programmatically, and given back once it settles closed. Sides which have a menu child
+     * don't use menuProvider.
+     *
+     * @param menuViewPool shared by the rows, a new pool is used if null
+     */
+    public void setMenuProvider(@Nullable MenuProvider menuProvider,
+                                @Nullable MenuViewPool menuViewPool) {
+        setOffsetImmediately(0);
+        releaseMenu(SLOT_LEFT);
+        releaseMenu(SLOT_RIGHT);
+        this.menuProvider = menuProvider;
+        this.menuViewPool = menuProvider == null ? null
+                : menuViewPool != null ? menuViewPool : new MenuViewPool();
+    }
+
+    /**
+     * Report frame timing of every swipe gesture, null to stop.
+     */
+    public void setSwipeMetricsListener(SwipeMetricsListener swipeMetricsListener) {
+        if(metricsTracker != null) {
+            metricsTracker.onCancel();
+        }
+
+        if(swipeMetricsListener == null) {
+            metricsTracker = null;
+            return;
+        }
+
+        metricsTracker = new SwipeMetricsTracker(this, swipeMetricsListener,
+                getFrameBudgetNanos());
+    }
+
     /**
      * 状态变化监听器
      */
@@ -670,4 +2603,100 @@ public class SwipeLayout extends ViewGroup {
          */
         void onChanged(boolean isOpen, SwipeLayout swipeLayout);
     }
+
+    /**
+     * 侧滑状态变化监听器, see {@link #getSwipeState()}
+     */
+    public interface OnSwipeStateChangedListener {
+        /**
+         * Called once for every distinct transition.
+         *
+         * @param swipeLayout {@link SwipeLayout}
+         * @param oldState    state before
+         * @param newState    state now
+         */
+        void onSwipeStateChanged(SwipeLayout swipeLayout, int oldState, int newState);
+    }
+
+    /**
+     * 侧滑菜单点击监听器, for {@link SwipeAction}s
+     */
+    public interface OnActionClickListener {
+        /**
+         * @param swipeLayout {@link SwipeLayout}
+         * @param action      the clicked action
+         */
+        void onActionClick(SwipeLayout swipeLayout, SwipeAction action);
+    }
+
+    /**
+     * 侧滑进度监听器
+     */
+    public interface OnSwipeProgressListener {
+        int PHASE_IDLE = 0;
+        int PHASE_DRAGGING = 1;
+        int PHASE_SETTLING = 2;
+
+        /**
+         * @param swipeLayout   {@link SwipeLayout}
+         * @param offset        {@link #getOffset()}
+         * @param leftFraction  revealed fraction of left view, 0 to 1
+         * @param rightFraction revealed fraction of right view, 0 to 1
+         * @param phase         {@link #PHASE_IDLE}, {@link #PHASE_DRAGGING} or
+         *                      {@link #PHASE_SETTLING}
+         */
+        void onSwipeProgress(SwipeLayout swipeLayout, int offset, float leftFraction,
+                             float rightFraction, int phase);
+    }
+
+    /**
+     * 侧滑菜单提供者, see {@link #setMenuProvider(MenuProvider, MenuViewPool)}
+     */
+    public interface MenuProvider {
+        int NO_MENU = -1;
+
+        /**
+         * @param side {@link LayoutParams#LEFT} or {@link LayoutParams#RIGHT}
+         * @return view type of the menu, menus are pooled by view type, or {@link #NO_MENU}
+         */
+        int getMenuType(SwipeLayout swipeLayout, int side);
+
+        /**
+         * Create a menu when {@link MenuViewPool} has none of this type.
+         */
+        View createMenu(SwipeLayout swipeLayout, int side, int type);
+
+        /**
+         * Bind menu to the item shown by swipeLayout, called every time it is attached.
+         */
+        void bindMenu(SwipeLayout swipeLayout, int side, View menu);
+    }
+
+    /**
+     * 侧滑删除监听器
+     */
+    public interface DismissListener {
+        /**
+         * Called when SwipeLayout settled out of its bounds, it stays there until it is reset by
+         * {@link #setOffsetImmediately(int)}, e.g. when bound to another item.
+         *
+         * @param swipeLayout {@link SwipeLayout}
+         * @param side        {@link LayoutParams#LEFT} if swiped out to the right,
+         *                    {@link LayoutParams#RIGHT} if swiped out to the left
+         */
+        void onDismissed(SwipeLayout swipeLayout, int side);
+    }
+
+    /**
+     * 侧滑性能监听器
+     */
+    public interface SwipeMetricsListener {
+        /**
+         * Called once per swipe gesture, after the settle following the release ends.
+         *
+         * @param swipeLayout {@link SwipeLayout}
+         * @param metrics     reused for every gesture, only valid during this call
+         */
+        void onSwipeMetrics(SwipeLayout swipeLayout, SwipeMetrics metrics);
+    }
 }
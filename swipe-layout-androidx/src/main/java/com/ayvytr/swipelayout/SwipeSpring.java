@@ -0,0 +1,136 @@
+package com.ayvytr.swipelayout;
+
+/**
+ * Damped spring used to settle {@link SwipeLayout} from the release velocity. It only depends on
+ * plain java, positions are in pixels and velocities in pixels per second.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public final class SwipeSpring {
+    public static final float STIFFNESS_DEFAULT = 1500f;
+    public static final float DAMPING_RATIO_DEFAULT = 1f;
+
+    /**
+     * The spring is at rest when it is closer than this to the target.
+     */
+    private static final float POSITION_THRESHOLD = 0.5f;
+    private static final float VELOCITY_THRESHOLD = POSITION_THRESHOLD * 62.5f;
+
+    private float stiffness = STIFFNESS_DEFAULT;
+    private float dampingRatio = DAMPING_RATIO_DEFAULT;
+
+    private float position;
+    private float velocity;
+    private float target;
+
+    public SwipeSpring() {
+    }
+
+    public SwipeSpring(float stiffness, float dampingRatio) {
+        setStiffness(stiffness);
+        setDampingRatio(dampingRatio);
+    }
+
+    public float getStiffness() {
+        return stiffness;
+    }
+
+    public void setStiffness(float stiffness) {
+        if(stiffness <= 0) {
+            throw new IllegalArgumentException("Spring stiffness must be positive");
+        }
+        this.stiffness = stiffness;
+    }
+
+    public float getDampingRatio() {
+        return dampingRatio;
+    }
+
+    /**
+     * @param dampingRatio 1 is critically damped, less than 1 bounces, more than 1 moves slower
+     */
+    public void setDampingRatio(float dampingRatio) {
+        if(dampingRatio < 0) {
+            throw new IllegalArgumentException("Spring damping ratio must not be negative");
+        }
+        this.dampingRatio = dampingRatio;
+    }
+
+    public void start(float position, float target, float velocity) {
+        this.position = position;
+        this.target = target;
+        this.velocity = velocity;
+    }
+
+    public float getPosition() {
+        return position;
+    }
+
+    public float getVelocity() {
+        return velocity;
+    }
+
+    public float getTarget() {
+        return target;
+    }
+
+    public boolean isAtRest() {
+        return Math.abs(velocity) < VELOCITY_THRESHOLD
+                && Math.abs(position - target) < POSITION_THRESHOLD;
+    }
+
+    /**
+     * Advance the spring by {@code seconds}.
+     *
+     * @return true if the spring is still moving, false if it came to rest at the target
+     */
+    public boolean update(float seconds) {
+        if(seconds > 0) {
+            step(seconds);
+        }
+
+        if(isAtRest()) {
+            position = target;
+            velocity = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private void step(double t) {
+        double naturalFreq = Math.sqrt(stiffness);
+        double x0 = position - target;
+        double v0 = velocity;
+        double x;
+        double v;
+
+        if(dampingRatio > 1) {
+            double root = naturalFreq * Math.sqrt(dampingRatio * dampingRatio - 1);
+            double gammaPlus = -dampingRatio * naturalFreq + root;
+            double gammaMinus = -dampingRatio * naturalFreq - root;
+            double coeffB = (gammaMinus * x0 - v0) / (gammaMinus - gammaPlus);
+            double coeffA = x0 - coeffB;
+            double expMinus = Math.exp(gammaMinus * t);
+            double expPlus = Math.exp(gammaPlus * t);
+            x = coeffA * expMinus + coeffB * expPlus;
+            v = coeffA * gammaMinus * expMinus + coeffB * gammaPlus * expPlus;
+        } else if(dampingRatio == 1) {
+            double coeffB = v0 + naturalFreq * x0;
+            double exp = Math.exp(-naturalFreq * t);
+            x = (x0 + coeffB * t) * exp;
+            v = (x0 + coeffB * t) * exp * -naturalFreq + coeffB * exp;
+        } else {
+            double dampedFreq = naturalFreq * Math.sqrt(1 - dampingRatio * dampingRatio);
+            double sinCoeff = (dampingRatio * naturalFreq * x0 + v0) / dampedFreq;
+            double exp = Math.exp(-dampingRatio * naturalFreq * t);
+            double cos = Math.cos(dampedFreq * t);
+            double sin = Math.sin(dampedFreq * t);
+            x = exp * (x0 * cos + sinCoeff * sin);
+            v = x * -dampingRatio * naturalFreq
+                    + exp * (-dampedFreq * x0 * sin + dampedFreq * sinCoeff * cos);
+        }
+
+        position = (float) (x + target);
+        velocity = (float) v;
+    }
+}
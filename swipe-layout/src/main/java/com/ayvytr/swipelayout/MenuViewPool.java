@@ -0,0 +1,71 @@
+package com.ayvytr.swipelayout;
+
+import android.support.annotation.Nullable;
+import android.util.SparseArray;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * Menu views shared by {@link SwipeLayout}s with a {@link SwipeLayout.MenuProvider}, grouped by
+ * view type. Only the few revealed rows hold a menu, the others give it back here.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public class MenuViewPool {
+    private static final int DEFAULT_MAX_SCRAP = 5;
+
+    private final SparseArray<ArrayList<View>> scraps = new SparseArray<>();
+    private int maxScrap = DEFAULT_MAX_SCRAP;
+
+    /**
+     * @return a menu of given view type, or null if there is none
+     */
+    @Nullable
+    public View acquire(int type) {
+        ArrayList<View> scrap = scraps.get(type);
+        if(scrap == null || scrap.isEmpty()) {
+            return null;
+        }
+        return scrap.remove(scrap.size() - 1);
+    }
+
+    /**
+     * Give back a menu which is not attached anymore, dropped if the pool of its type is full.
+     */
+    public void release(int type, View menu) {
+        if(menu.getParent() != null) {
+            throw new IllegalArgumentException("Menu is still attached");
+        }
+
+        ArrayList<View> scrap = scraps.get(type);
+        if(scrap == null) {
+            scrap = new ArrayList<>(maxScrap);
+            scraps.put(type, scrap);
+        }
+        if(scrap.size() < maxScrap) {
+            scrap.add(menu);
+        }
+    }
+
+    public int getMaxScrap() {
+        return maxScrap;
+    }
+
+    /**
+     * Max count of pooled menus of each view type. Default is 5.
+     */
+    public void setMaxScrap(int maxScrap) {
+        this.maxScrap = maxScrap;
+        for(int i = 0; i < scraps.size(); i++) {
+            ArrayList<View> scrap = scraps.valueAt(i);
+            while(scrap.size() > maxScrap) {
+                scrap.remove(scrap.size() - 1);
+            }
+        }
+    }
+
+    public void clear() {
+        scraps.clear();
+    }
+}
@@ -0,0 +1,248 @@
+package com.ayvytr.swipelayout;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+/**
+ * Process wide cache of pre-rendered {@link SwipeAction} bitmaps, so rows showing the same action
+ * blit one bitmap instead of drawing icon and label again. Keyed by icon, tint, colors, text,
+ * density and size, and limited by an LRU byte budget.
+ * <p>
+ * Icons from resources are keyed by resource id, icons set in code by their
+ * {@link Drawable.ConstantState}, so drawables loaded from the same resource share bitmaps. Icons
+ * without a constant state are keyed by the drawable itself.
+ * <p>
+ * Registered for trim-memory and configuration callbacks of the application, all bitmaps are
+ * dropped when night mode or density changes. {@link #onTrimMemory(int)} can also be called
+ * directly.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+@MainThread
+public final class SwipeActionAtlas implements ComponentCallbacks2 {
+    private static final int MAX_BYTES = 4 * 1024 * 1024;
+
+    private static SwipeActionAtlas instance;
+
+    private final LruCache<Key, Bitmap> cache;
+    private int uiMode;
+    private int densityDpi;
+
+    private SwipeActionAtlas(int maxBytes) {
+        cache = new LruCache<Key, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    @NonNull
+    public static SwipeActionAtlas getInstance(@NonNull Context context) {
+        if(instance == null) {
+            //at most 1/64 of the heap
+            int maxBytes = (int) Math.min(MAX_BYTES, Runtime.getRuntime().maxMemory() / 64);
+            instance = new SwipeActionAtlas(maxBytes);
+            Configuration config = context.getResources().getConfiguration();
+            instance.uiMode = config.uiMode;
+            instance.densityDpi = getDensityDpi(config);
+            context.getApplicationContext().registerComponentCallbacks(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * @return bitmap of action with background, icon and label, rendered on a miss
+     */
+    Bitmap getBitmap(SwipeAction action, TextPaint textPaint, int width, int height,
+                     float density) {
+        //the key of the last lookup is kept by the action, so a hit allocates nothing
+        Key key = action.atlasKey;
+        if(key == null || !key.matches(action, textPaint, width, height, density)) {
+            key = new Key(action, textPaint, width, height, density);
+            action.atlasKey = key;
+        }
+
+        Bitmap bitmap = cache.get(key);
+        if(bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bitmap);
+            canvas.drawColor(action.getColor());
+            action.draw(canvas, textPaint, 0, 0, width, height);
+            cache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    public int getHitCount() {
+        return cache.hitCount();
+    }
+
+    public int getMissCount() {
+        return cache.missCount();
+    }
+
+    public int getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    /**
+     * @return bytes of the cached bitmaps
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * @return byte budget, 4MB or 1/64 of the heap if less
+     */
+    public int getMaxSize() {
+        return cache.maxSize();
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    /**
+     * Drop all bitmaps when the app is in background or memory is critical, half of them when
+     * memory is low.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if(level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.evictAll();
+        } else if(level >= TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        cache.evictAll();
+    }
+
+    /**
+     * Drop all bitmaps if night mode or density changed, icons and colors of the same resources
+     * may differ.
+     */
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        int newDensityDpi = getDensityDpi(newConfig);
+        if(newConfig.uiMode != uiMode || newDensityDpi != densityDpi) {
+            uiMode = newConfig.uiMode;
+            densityDpi = newDensityDpi;
+            cache.evictAll();
+        }
+    }
+
+    private static int getDensityDpi(Configuration config) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ? config.densityDpi : 0;
+    }
+
+    static final class Key {
+        /**
+         * Resource of the icon, {@link #icon} is compared if it is 0
+         */
+        private final int iconRes;
+        /**
+         * Constant state of the icon set in code, or the icon if it has none
+         */
+        private final Object icon;
+        private final int iconTint;
+        private final int color;
+        private final int textColor;
+        private final String label;
+        private final float textSize;
+        private final int width;
+        private final int height;
+        private final float density;
+        private final int hashCode;
+
+        Key(SwipeAction action, TextPaint textPaint, int width, int height, float density) {
+            iconRes = action.iconRes;
+            icon = iconRes == 0 ? iconKey(action.getIcon()) : null;
+            iconTint = action.getIconTint();
+            color = action.getColor();
+            textColor = action.getTextColor();
+            label = action.getLabel() == null ? null : action.getLabel().toString();
+            textSize = textPaint.getTextSize();
+            this.width = width;
+            this.height = height;
+            this.density = density;
+
+            int result = iconRes;
+            result = 31 * result + (icon == null ? 0 : System.identityHashCode(icon));
+            result = 31 * result + iconTint;
+            result = 31 * result + color;
+            result = 31 * result + textColor;
+            result = 31 * result + (label == null ? 0 : label.hashCode());
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + Float.floatToIntBits(density);
+            hashCode = result;
+        }
+
+        boolean matches(SwipeAction action, TextPaint textPaint, int width, int height,
+                        float density) {
+            return iconRes == action.iconRes
+                    && icon == (action.iconRes == 0 ? iconKey(action.getIcon()) : null)
+                    && iconTint == action.getIconTint()
+                    && color == action.getColor()
+                    && textColor == action.getTextColor()
+                    && TextUtils.equals(label, action.getLabel())
+                    && textSize == textPaint.getTextSize()
+                    && this.width == width
+                    && this.height == height
+                    && this.density == density;
+        }
+
+        private static Object iconKey(Drawable icon) {
+            if(icon == null) {
+                return null;
+            }
+
+            Drawable.ConstantState state = icon.getConstantState();
+            return state != null ? state : icon;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return hashCode == key.hashCode
+                    && iconRes == key.iconRes
+                    && icon == key.icon
+                    && iconTint == key.iconTint
+                    && color == key.color
+                    && textColor == key.textColor
+                    && TextUtils.equals(label, key.label)
+                    && textSize == key.textSize
+                    && width == key.width
+                    && height == key.height
+                    && density == key.density;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
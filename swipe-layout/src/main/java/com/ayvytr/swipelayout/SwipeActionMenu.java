@@ -0,0 +1,133 @@
+package com.ayvytr.swipelayout;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.content.res.XmlResourceParser;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.XmlRes;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.util.Xml;
+import android.view.View;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * {@link SwipeAction}s of one side of {@link SwipeLayout}, laid out from left to right.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+class SwipeActionMenu {
+    private static final String TAG_ACTION = "action";
+    private static final int ACTION_WIDTH_DP = 72;
+
+    private final SwipeAction[] actions;
+    private final int width;
+
+    SwipeActionMenu(SwipeAction[] actions) {
+        this.actions = actions;
+        int width = 0;
+        for(SwipeAction action : actions) {
+            width += action.getWidth();
+        }
+        this.width = width;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * @param atlas   blit the actions from it, draw them directly if null
+     * @param left    left of the first action
+     * @param right   right of the visible part
+     * @param density density of the display, part of the atlas key
+     */
+    void draw(Canvas canvas, Paint paint, TextPaint textPaint, SwipeActionAtlas atlas, int left,
+              int top, int right, int bottom, float density) {
+        int x = left;
+        for(SwipeAction action : actions) {
+            int actionRight = x + action.getWidth();
+            if(actionRight > 0 && x < right && action.getWidth() > 0 && bottom > top) {
+                if(atlas != null) {
+                    canvas.drawBitmap(atlas.getBitmap(action, textPaint, action.getWidth(),
+                            bottom - top, density), x, top, null);
+                } else {
+                    paint.setColor(action.getColor());
+                    canvas.drawRect(x, top, actionRight, bottom, paint);
+                    action.draw(canvas, textPaint, x, top, actionRight, bottom);
+                }
+            }
+            x = actionRight;
+        }
+    }
+
+    /**
+     * @param x relative to the left of the first action
+     * @return the action at x, or null
+     */
+    SwipeAction findAction(int x) {
+        if(x < 0) {
+            return null;
+        }
+
+        for(SwipeAction action : actions) {
+            x -= action.getWidth();
+            if(x < 0) {
+                return action;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parse {@code <action>} items of an xml resource, with {@code app:actionId},
+     * {@code app:actionIcon}, {@code app:actionLabel}, {@code app:actionColor},
+     * {@code app:actionTextColor}, {@code app:actionIconTint} and {@code app:actionWidth}.
+     */
+    static SwipeActionMenu inflate(Context context, @XmlRes int xmlRes) {
+        int defaultWidth = Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+                ACTION_WIDTH_DP, context.getResources().getDisplayMetrics()));
+        ArrayList<SwipeAction> actions = new ArrayList<>();
+
+        XmlResourceParser parser = context.getResources().getXml(xmlRes);
+        try {
+            AttributeSet attrs = Xml.asAttributeSet(parser);
+            int type;
+            while((type = parser.next()) != XmlPullParser.END_DOCUMENT) {
+                if(type != XmlPullParser.START_TAG || !TAG_ACTION.equals(parser.getName())) {
+                    continue;
+                }
+
+                TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.SwipeAction);
+                SwipeAction action = new SwipeAction(
+                        a.getResourceId(R.styleable.SwipeAction_actionId, View.NO_ID),
+                        a.getDrawable(R.styleable.SwipeAction_actionIcon),
+                        a.getText(R.styleable.SwipeAction_actionLabel),
+                        a.getColor(R.styleable.SwipeAction_actionColor, Color.GRAY),
+                        a.getDimensionPixelSize(R.styleable.SwipeAction_actionWidth,
+                                defaultWidth));
+                action.setTextColor(
+                        a.getColor(R.styleable.SwipeAction_actionTextColor, Color.WHITE));
+                action.setIconTint(a.getColor(R.styleable.SwipeAction_actionIconTint, 0));
+                //rows inflating the same actions share their bitmaps in SwipeActionAtlas
+                action.iconRes = a.getResourceId(R.styleable.SwipeAction_actionIcon, 0);
+                a.recycle();
+                actions.add(action);
+            }
+        } catch(XmlPullParserException | IOException e) {
+            throw new RuntimeException("Failed to parse swipe actions", e);
+        } finally {
+            parser.close();
+        }
+
+        return new SwipeActionMenu(actions.toArray(new SwipeAction[0]));
+    }
+}
@@ -0,0 +1,213 @@
+package com.ayvytr.swipelayout;
+
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.support.v4.view.ViewCompat;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Animates offsets of many {@link SwipeLayout}s of a window in one frame callback, e.g. close all
+ * opened rows of a list at once. Work per frame only depends on the number of animating
+ * SwipeLayouts, each SwipeLayout keeps its own index, so lookups don't scan them.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ * @see #closeAll(Iterable)
+ */
+public final class SwipeAnimationEngine implements Runnable {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final long DURATION_NANOS = SwipeLayout.ANIMATION_DURATION * 1000000L;
+
+    private final View host;
+    private FrameCallback frameCallback;
+    private boolean scheduled;
+
+    private SwipeLayout[] swipeLayouts = new SwipeLayout[INITIAL_CAPACITY];
+    private int[] startOffsets = new int[INITIAL_CAPACITY];
+    private int[] targetOffsets = new int[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private int count;
+
+    private SwipeAnimationEngine(View host) {
+        this.host = host;
+    }
+
+    /**
+     * @return the engine shared by all SwipeLayouts in the window of {@code view}
+     */
+    public static SwipeAnimationEngine get(@NonNull View view) {
+        View root = view.getRootView();
+        Object tag = root.getTag(R.id.swipe_animation_engine);
+        if(tag instanceof SwipeAnimationEngine) {
+            return (SwipeAnimationEngine) tag;
+        }
+
+        SwipeAnimationEngine engine = new SwipeAnimationEngine(root);
+        root.setTag(R.id.swipe_animation_engine, engine);
+        return engine;
+    }
+
+    /**
+     * Close all opened {@code swipeLayouts} with animation, they are advanced together in one frame
+     * callback per window.
+     */
+    public static void closeAll(@NonNull Iterable<SwipeLayout> swipeLayouts) {
+        for(SwipeLayout swipeLayout : swipeLayouts) {
+            if(swipeLayout.getOffset() != 0) {
+                get(swipeLayout).animateTo(swipeLayout, 0);
+            }
+        }
+    }
+
+    /**
+     * Animate {@code swipeLayout} from its current offset to {@code targetOffset}, replaces the
+     * running animation of the same SwipeLayout.
+     */
+    public void animateTo(@NonNull SwipeLayout swipeLayout, int targetOffset) {
+        int index = indexOf(swipeLayout);
+        if(index < 0) {
+            if(swipeLayout.getOffset() == targetOffset) {
+                return;
+            }
+
+            swipeLayout.onEngineAnimationStart(this);
+            ensureCapacity(count + 1);
+            index = count++;
+            swipeLayouts[index] = swipeLayout;
+            swipeLayout.engineIndex = index;
+        }
+
+        startOffsets[index] = swipeLayout.getOffset();
+        targetOffsets[index] = targetOffset;
+        startTimes[index] = System.nanoTime();
+        schedule();
+    }
+
+    /**
+     * Stop the animation of {@code swipeLayout}, it jumps to the target offset.
+     */
+    public void cancel(@NonNull SwipeLayout swipeLayout) {
+        int index = indexOf(swipeLayout);
+        if(index >= 0) {
+            swipeLayout.setOffset(targetOffsets[index]);
+            remove(index);
+            swipeLayout.onEngineAnimationEnd();
+        }
+    }
+
+    /**
+     * Stop the animation of {@code swipeLayout} where it is.
+     */
+    public void stop(@NonNull SwipeLayout swipeLayout) {
+        int index = indexOf(swipeLayout);
+        if(index >= 0) {
+            remove(index);
+            swipeLayout.onEngineAnimationEnd();
+        }
+    }
+
+    public boolean isAnimating(@NonNull SwipeLayout swipeLayout) {
+        return indexOf(swipeLayout) >= 0;
+    }
+
+    @Override
+    public void run() {
+        doFrame(System.nanoTime());
+    }
+
+    private void doFrame(long frameTimeNanos) {
+        scheduled = false;
+
+        //iterate backwards, so removing by swapping with the last one is safe
+        for(int i = count - 1; i >= 0; i--) {
+            SwipeLayout swipeLayout = swipeLayouts[i];
+            float fraction = (frameTimeNanos - startTimes[i]) / (float) DURATION_NANOS;
+            if(fraction >= 1f) {
+                swipeLayout.setOffset(targetOffsets[i]);
+                remove(i);
+                swipeLayout.onEngineAnimationEnd();
+            } else {
+                float interpolated = SwipeLayout.ANIMATION_INTERPOLATOR
+                        .getInterpolation(Math.max(fraction, 0f));
+                swipeLayout.setOffset(startOffsets[i]
+                        + Math.round((targetOffsets[i] - startOffsets[i]) * interpolated));
+            }
+        }
+
+        if(count > 0) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if(scheduled) {
+            return;
+        }
+
+        scheduled = true;
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if(frameCallback == null) {
+                frameCallback = new FrameCallback(this);
+            }
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            ViewCompat.postOnAnimation(host, this);
+        }
+    }
+
+    private int indexOf(SwipeLayout swipeLayout) {
+        int index = swipeLayout.engineIndex;
+        //the index may belong to the engine of another window
+        return index >= 0 && index < count && swipeLayouts[index] == swipeLayout ? index : -1;
+    }
+
+    private void remove(int index) {
+        int last = --count;
+        SwipeLayout removed = swipeLayouts[index];
+        swipeLayouts[index] = swipeLayouts[last];
+        swipeLayouts[index].engineIndex = index;
+        removed.engineIndex = -1;
+        startOffsets[index] = startOffsets[last];
+        targetOffsets[index] = targetOffsets[last];
+        startTimes[index] = startTimes[last];
+        swipeLayouts[last] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= swipeLayouts.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, swipeLayouts.length * 2);
+        SwipeLayout[] newSwipeLayouts = new SwipeLayout[newCapacity];
+        System.arraycopy(swipeLayouts, 0, newSwipeLayouts, 0, count);
+        swipeLayouts = newSwipeLayouts;
+
+        int[] newStartOffsets = new int[newCapacity];
+        System.arraycopy(startOffsets, 0, newStartOffsets, 0, count);
+        startOffsets = newStartOffsets;
+
+        int[] newTargetOffsets = new int[newCapacity];
+        System.arraycopy(targetOffsets, 0, newTargetOffsets, 0, count);
+        targetOffsets = newTargetOffsets;
+
+        long[] newStartTimes = new long[newCapacity];
+        System.arraycopy(startTimes, 0, newStartTimes, 0, count);
+        startTimes = newStartTimes;
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameCallback implements Choreographer.FrameCallback {
+        private final SwipeAnimationEngine engine;
+
+        FrameCallback(SwipeAnimationEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            engine.doFrame(frameTimeNanos);
+        }
+    }
+}
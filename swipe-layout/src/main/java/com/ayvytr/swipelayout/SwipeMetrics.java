@@ -0,0 +1,97 @@
+package com.ayvytr.swipelayout;
+
+/**
+ * Frame timing of one swipe gesture of {@link SwipeLayout}, from ACTION_DOWN until the settle
+ * after release ends.
+ * <p>
+ * The same instance is reused for every gesture of a SwipeLayout, it is only valid during
+ * {@link SwipeLayout.SwipeMetricsListener#onSwipeMetrics(SwipeLayout, SwipeMetrics)}, copy the
+ * values to keep them.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public final class SwipeMetrics {
+    /**
+     * SwipeLayout was open when the gesture ended.
+     */
+    public static final int OUTCOME_OPENED = 0;
+    /**
+     * SwipeLayout was closed when the gesture ended.
+     */
+    public static final int OUTCOME_CLOSED = 1;
+    /**
+     * The gesture or its settle was interrupted, e.g. by a new touch, detach or
+     * {@link SwipeLayout#abortAnimation()}.
+     */
+    public static final int OUTCOME_CANCELLED = 2;
+
+    long decisionTimeNanos;
+    int frameCount;
+    int jankFrameCount;
+    long frameBudgetNanos;
+    long positionTimeNanos;
+    long settleTimeNanos;
+    int outcome;
+
+    SwipeMetrics() {
+    }
+
+    void reset() {
+        decisionTimeNanos = 0;
+        frameCount = 0;
+        jankFrameCount = 0;
+        positionTimeNanos = 0;
+        settleTimeNanos = 0;
+        outcome = OUTCOME_CANCELLED;
+    }
+
+    /**
+     * @return time from ACTION_DOWN until SwipeLayout decided to swipe
+     */
+    public long getDecisionTimeNanos() {
+        return decisionTimeNanos;
+    }
+
+    /**
+     * @return frames drawn during the gesture and its settle, 0 below API 16
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return frames which took longer than one and a half {@link #getFrameBudgetNanos()}, which
+     * means at least one frame was skipped
+     */
+    public int getJankFrameCount() {
+        return jankFrameCount;
+    }
+
+    /**
+     * @return frame interval of the display
+     */
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    /**
+     * @return time spent moving the children, by drag and settle
+     */
+    public long getPositionTimeNanos() {
+        return positionTimeNanos;
+    }
+
+    /**
+     * @return time from release until the settle ended, 0 if nothing was settled
+     */
+    public long getSettleTimeNanos() {
+        return settleTimeNanos;
+    }
+
+    /**
+     * @return {@link #OUTCOME_OPENED}, {@link #OUTCOME_CLOSED} or {@link #OUTCOME_CANCELLED}
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+}
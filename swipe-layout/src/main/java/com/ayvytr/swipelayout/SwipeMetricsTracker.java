@@ -0,0 +1,164 @@
+package com.ayvytr.swipelayout;
+
+import android.os.Build;
+import android.support.annotation.RequiresApi;
+import android.view.Choreographer;
+
+/**
+ * Collects {@link SwipeMetrics} of the current gesture of a {@link SwipeLayout}, frames are counted
+ * by {@link Choreographer} on API 16+. Nothing is allocated per gesture or per frame.
+ */
+final class SwipeMetricsTracker {
+    private static final int PHASE_IDLE = 0;
+    private static final int PHASE_TOUCH = 1;
+    private static final int PHASE_SWIPE = 2;
+    private static final int PHASE_SETTLE = 3;
+
+    private final SwipeLayout swipeLayout;
+    private final SwipeLayout.SwipeMetricsListener listener;
+    private final SwipeMetrics metrics = new SwipeMetrics();
+    private FrameCallback frameCallback;
+
+    private int phase = PHASE_IDLE;
+    private long downTime;
+    private long downNanos;
+    private long settleStartNanos;
+    private long lastFrameNanos;
+
+    SwipeMetricsTracker(SwipeLayout swipeLayout, SwipeLayout.SwipeMetricsListener listener,
+                        long frameBudgetNanos) {
+        this.swipeLayout = swipeLayout;
+        this.listener = listener;
+        metrics.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * @param downTime {@link android.view.MotionEvent#getDownTime()}, the same gesture can be
+     *                 reported by both onInterceptTouchEvent and onTouchEvent
+     */
+    void onTouchDown(long downTime) {
+        if(phase != PHASE_IDLE) {
+            if(phase == PHASE_TOUCH && this.downTime == downTime) {
+                return;
+            }
+            finish(SwipeMetrics.OUTCOME_CANCELLED);
+        }
+
+        this.downTime = downTime;
+        metrics.reset();
+        downNanos = System.nanoTime();
+        lastFrameNanos = 0;
+        phase = PHASE_TOUCH;
+        postFrame();
+    }
+
+    void onSwipeDecided(boolean swipe) {
+        if(phase != PHASE_TOUCH) {
+            return;
+        }
+
+        if(swipe) {
+            metrics.decisionTimeNanos = System.nanoTime() - downNanos;
+            phase = PHASE_SWIPE;
+        } else {
+            discard();
+        }
+    }
+
+    void addPositionTime(long nanos) {
+        if(phase != PHASE_IDLE) {
+            metrics.positionTimeNanos += nanos;
+        }
+    }
+
+    /**
+     * @param settling true if a settle started on release
+     */
+    void onTouchUp(boolean settling) {
+        if(phase == PHASE_TOUCH) {
+            discard();
+        } else if(phase == PHASE_SWIPE) {
+            if(settling) {
+                settleStartNanos = System.nanoTime();
+                phase = PHASE_SETTLE;
+            } else {
+                finish(outcome());
+            }
+        }
+    }
+
+    void onSettleEnd() {
+        if(phase == PHASE_SETTLE) {
+            metrics.settleTimeNanos = System.nanoTime() - settleStartNanos;
+            finish(outcome());
+        }
+    }
+
+    void onCancel() {
+        if(phase == PHASE_TOUCH) {
+            discard();
+        } else if(phase != PHASE_IDLE) {
+            finish(SwipeMetrics.OUTCOME_CANCELLED);
+        }
+    }
+
+    private int outcome() {
+        return swipeLayout.isOpen() ? SwipeMetrics.OUTCOME_OPENED : SwipeMetrics.OUTCOME_CLOSED;
+    }
+
+    private void discard() {
+        phase = PHASE_IDLE;
+        removeFrame();
+    }
+
+    private void finish(int outcome) {
+        phase = PHASE_IDLE;
+        removeFrame();
+        metrics.outcome = outcome;
+        listener.onSwipeMetrics(swipeLayout, metrics);
+    }
+
+    private void doFrame(long frameTimeNanos) {
+        if(phase == PHASE_IDLE) {
+            return;
+        }
+
+        if(lastFrameNanos != 0) {
+            metrics.frameCount++;
+            if((frameTimeNanos - lastFrameNanos) * 2 > metrics.frameBudgetNanos * 3) {
+                metrics.jankFrameCount++;
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        postFrame();
+    }
+
+    private void postFrame() {
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if(frameCallback == null) {
+                frameCallback = new FrameCallback(this);
+            }
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    }
+
+    private void removeFrame() {
+        if(frameCallback != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+        }
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameCallback implements Choreographer.FrameCallback {
+        private final SwipeMetricsTracker tracker;
+
+        FrameCallback(SwipeMetricsTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            tracker.doFrame(frameTimeNanos);
+        }
+    }
+}
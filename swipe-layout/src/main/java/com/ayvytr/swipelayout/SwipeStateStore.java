@@ -0,0 +1,145 @@
+package com.ayvytr.swipelayout;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Keeps offsets of open {@link SwipeLayout} rows keyed by adapter stable id, so recycled rows
+ * show their own state when bound again. Closed rows are not stored.
+ * <p>
+ * Keys and offsets are kept in sorted primitive arrays and looked up by binary search, no boxing,
+ * so tens of thousands of entries stay cheap.
+ *
+ * @author Ayvytr <a href="https://github.com/Ayvytr" target="_blank">'s GitHub</a>
+ */
+public class SwipeStateStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids;
+    /**
+     * Positive offset means left view is revealed, negative means right view
+     */
+    private int[] offsets;
+    private int size;
+
+    public SwipeStateStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public SwipeStateStore(int initialCapacity) {
+        initialCapacity = Math.max(initialCapacity, 1);
+        ids = new long[initialCapacity];
+        offsets = new int[initialCapacity];
+    }
+
+    /**
+     * Store current offset of swipeLayout, bound to item of given stable id.
+     */
+    public void save(long id, @NonNull SwipeLayout swipeLayout) {
+        put(id, swipeLayout.getOffset());
+    }
+
+    /**
+     * Move swipeLayout to the offset stored for given stable id, without animation and without
+     * an extra layout pass.
+     */
+    public void restore(long id, @NonNull SwipeLayout swipeLayout) {
+        int offset = getOffset(id);
+        if(offset != swipeLayout.getOffset()) {
+            swipeLayout.setOffsetImmediately(offset);
+        }
+    }
+
+    /**
+     * @return stored offset of given stable id, 0 if it is closed
+     */
+    public int getOffset(long id) {
+        int index = indexOf(id);
+        return index < 0 ? 0 : offsets[index];
+    }
+
+    public boolean isOpen(long id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * @param offset 0 removes the entry
+     */
+    public void put(long id, int offset) {
+        int index = indexOf(id);
+        if(index >= 0) {
+            if(offset == 0) {
+                removeAt(index);
+            } else {
+                offsets[index] = offset;
+            }
+            return;
+        }
+
+        if(offset == 0) {
+            return;
+        }
+
+        index = ~index;
+        if(size == ids.length) {
+            int capacity = size * 2;
+            long[] newIds = new long[capacity];
+            int[] newOffsets = new int[capacity];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(offsets, 0, newOffsets, 0, index);
+            System.arraycopy(ids, index, newIds, index + 1, size - index);
+            System.arraycopy(offsets, index, newOffsets, index + 1, size - index);
+            ids = newIds;
+            offsets = newOffsets;
+        } else {
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        }
+        ids[index] = id;
+        offsets[index] = offset;
+        size++;
+    }
+
+    public void remove(long id) {
+        int index = indexOf(id);
+        if(index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return count of open items
+     */
+    public int size() {
+        return size;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * @return index of id, or bitwise complement of the index to insert it at
+     */
+    private int indexOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = ids[mid];
+            if(midId < id) {
+                low = mid + 1;
+            } else if(midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return ~low;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ayvytr.swipelayout;
+
+import android.view.MotionEvent;
+
+/**
+ * Horizontal velocity of a swipe, fitted by least squares to the recent touch samples including
+ * the historical ones batched in each {@link MotionEvent}. Samples are kept in a fixed size ring
+ * buffer of primitives, nothing is allocated per event.
+ */
+final class SwipeVelocityTracker {
+    private static final int CAPACITY = 32;
+    /**
+     * Only samples this close to the latest one are used.
+     */
+    private static final long HORIZON_MILLIS = 100;
+
+    private final long[] times = new long[CAPACITY];
+    private final float[] xs = new float[CAPACITY];
+    private int head;
+    private int size;
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds the historical samples and the current position of the first pointer.
+     */
+    void addMovement(MotionEvent event) {
+        int historySize = event.getHistorySize();
+        for(int i = 0; i < historySize; i++) {
+            add(event.getHistoricalEventTime(i), event.getHistoricalX(i));
+        }
+        add(event.getEventTime(), event.getX());
+    }
+
+    void add(long timeMillis, float x) {
+        head = (head + 1) % CAPACITY;
+        times[head] = timeMillis;
+        xs[head] = x;
+        if(size < CAPACITY) {
+            size++;
+        }
+    }
+
+    /**
+     * @return pixels per second, 0 if there are not enough samples
+     */
+    float computeVelocity() {
+        long latest = times[head];
+        int count = 0;
+        double sumT = 0;
+        double sumX = 0;
+        for(int i = 0, index = head; i < size; i++, index = (index + CAPACITY - 1) % CAPACITY) {
+            long age = latest - times[index];
+            if(age > HORIZON_MILLIS) {
+                break;
+            }
+            sumT -= age;
+            sumX += xs[index];
+            count++;
+        }
+        if(count < 2) {
+            return 0;
+        }
+
+        double meanT = sumT / count;
+        double meanX = sumX / count;
+        double covariance = 0;
+        double variance = 0;
+        for(int i = 0, index = head; i < count; i++, index = (index + CAPACITY - 1) % CAPACITY) {
+            double t = (times[index] - latest) - meanT;
+            covariance += t * (xs[index] - meanX);
+            variance += t * t;
+        }
+        return variance == 0 ? 0 : (float) (covariance / variance * 1000);
+    }
+}
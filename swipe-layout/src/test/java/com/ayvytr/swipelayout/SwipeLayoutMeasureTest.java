@@ -0,0 +1,158 @@
+package com.ayvytr.swipelayout;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts child measure calls of every measure pass of {@link SwipeLayout}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SwipeLayoutMeasureTest {
+    private static final int WIDTH = 480;
+
+    private SwipeLayout swipeLayout;
+    private CountingView leftView;
+    private CountingView centerView;
+    private CountingView rightView;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.application;
+        swipeLayout = new SwipeLayout(context);
+        leftView = new CountingView(context);
+        centerView = new CountingView(context);
+        rightView = new CountingView(context);
+        swipeLayout.addView(leftView, new SwipeLayout.LayoutParams(100,
+                ViewGroup.LayoutParams.MATCH_PARENT, SwipeLayout.LayoutParams.LEFT));
+        swipeLayout.addView(centerView, new SwipeLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        swipeLayout.addView(rightView, new SwipeLayout.LayoutParams(100,
+                ViewGroup.LayoutParams.MATCH_PARENT, SwipeLayout.LayoutParams.RIGHT));
+    }
+
+    @Test
+    public void singlePassMeasuresEveryChildOnce() {
+        swipeLayout.setSinglePassMeasure(true);
+
+        measure(WIDTH);
+
+        assertMeasureCount(1);
+        assertEquals(CountingView.HEIGHT, swipeLayout.getMeasuredHeight());
+        assertEquals(CountingView.HEIGHT, leftView.getMeasuredHeight());
+        assertEquals(CountingView.HEIGHT, rightView.getMeasuredHeight());
+    }
+
+    @Test
+    public void defaultMeasuresEveryChildTwiceForWrapContent() {
+        measure(WIDTH);
+
+        assertMeasureCount(2);
+        assertEquals(CountingView.HEIGHT, swipeLayout.getMeasuredHeight());
+    }
+
+    @Test
+    public void unchangedSpecsSkipChildMeasure() {
+        swipeLayout.setSinglePassMeasure(true);
+        measure(WIDTH);
+        layout();
+        resetMeasureCount();
+
+        swipeLayout.forceLayout();
+        measure(WIDTH);
+
+        assertMeasureCount(0);
+        assertEquals(WIDTH, swipeLayout.getMeasuredWidth());
+        assertEquals(CountingView.HEIGHT, swipeLayout.getMeasuredHeight());
+    }
+
+    @Test
+    public void changedSpecsMeasureEveryChildOnce() {
+        swipeLayout.setSinglePassMeasure(true);
+        measure(WIDTH);
+        layout();
+        resetMeasureCount();
+
+        measure(WIDTH / 2);
+
+        assertMeasureCount(1);
+        assertEquals(WIDTH / 2, swipeLayout.getMeasuredWidth());
+    }
+
+    @Test
+    public void childLayoutRequestMeasuresItAgain() {
+        swipeLayout.setSinglePassMeasure(true);
+        measure(WIDTH);
+        layout();
+        resetMeasureCount();
+
+        centerView.requestLayout();
+        measure(WIDTH);
+
+        assertEquals(1, centerView.measureCount);
+    }
+
+    @Test
+    public void goneCenterFallsBackToVisibleCenter() {
+        CountingView goneView = new CountingView(RuntimeEnvironment.application);
+        goneView.setVisibility(View.GONE);
+        swipeLayout.addView(goneView, new SwipeLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        swipeLayout.setSinglePassMeasure(true);
+
+        measure(WIDTH);
+
+        assertEquals(1, centerView.measureCount);
+        assertEquals(0, goneView.measureCount);
+        assertEquals(CountingView.HEIGHT, swipeLayout.getMeasuredHeight());
+    }
+
+    private void measure(int width) {
+        swipeLayout.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+    }
+
+    private void layout() {
+        swipeLayout.layout(0, 0, swipeLayout.getMeasuredWidth(),
+                swipeLayout.getMeasuredHeight());
+    }
+
+    private void resetMeasureCount() {
+        leftView.measureCount = 0;
+        centerView.measureCount = 0;
+        rightView.measureCount = 0;
+    }
+
+    private void assertMeasureCount(int count) {
+        assertEquals(count, leftView.measureCount);
+        assertEquals(count, centerView.measureCount);
+        assertEquals(count, rightView.measureCount);
+    }
+
+    private static class CountingView extends View {
+        static final int HEIGHT = 50;
+
+        int measureCount;
+
+        CountingView(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            measureCount++;
+            setMeasuredDimension(resolveSize(100, widthMeasureSpec),
+                    resolveSize(HEIGHT, heightMeasureSpec));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ayvytr.swipelayout;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Swipes a {@link SwipeLayout} whose center view takes touches, so the swipe has to be
+ * intercepted from it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SwipeLayoutTouchTest {
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 50;
+    private static final int MENU_WIDTH = 100;
+
+    private Context context;
+    private SwipeLayout swipeLayout;
+    private View rightMenu;
+    private long downTime;
+    private float lastX;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        swipeLayout = new SwipeLayout(context);
+        View centerView = new View(context);
+        centerView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+            }
+        });
+        swipeLayout.addView(centerView, new SwipeLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEIGHT));
+    }
+
+    @Test
+    public void providedMenuIsRevealedOnClickableRow() {
+        setRightMenuProvider();
+        layout();
+
+        down(400);
+        moveTo(300);
+
+        assertEquals(2, swipeLayout.getChildCount());
+        assertSame(rightMenu, swipeLayout.getChildAt(1));
+        assertTrue(swipeLayout.getOffset() < 0);
+    }
+
+    @Test
+    public void providedMenuIsReleasedIfSwipeIsNotIntercepted() {
+        setRightMenuProvider();
+        layout();
+
+        //there is no left menu to reveal
+        down(100);
+        moveTo(200);
+        up(200);
+
+        assertEquals(0, swipeLayout.getOffset());
+        assertEquals(1, swipeLayout.getChildCount());
+    }
+
+    @Test
+    public void menuLayoutIsRevealedOnClickableRow() {
+        swipeLayout.setRightMenuLayout(android.R.layout.simple_list_item_1);
+        layout();
+
+        down(400);
+        moveTo(300);
+
+        assertEquals(2, swipeLayout.getChildCount());
+        assertTrue(swipeLayout.getOffset() < 0);
+    }
+
+    private void setRightMenuProvider() {
+        swipeLayout.setMenuProvider(new SwipeLayout.MenuProvider() {
+            @Override
+            public int getMenuType(SwipeLayout swipeLayout, int side) {
+                return side == SwipeLayout.LayoutParams.RIGHT ? 0 : NO_MENU;
+            }
+
+            @Override
+            public View createMenu(SwipeLayout swipeLayout, int side, int type) {
+                rightMenu = new View(context);
+                rightMenu.setLayoutParams(new ViewGroup.LayoutParams(MENU_WIDTH,
+                        ViewGroup.LayoutParams.MATCH_PARENT));
+                return rightMenu;
+            }
+
+            @Override
+            public void bindMenu(SwipeLayout swipeLayout, int side, View menu) {
+            }
+        }, null);
+    }
+
+    private void layout() {
+        swipeLayout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        swipeLayout.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private void down(float x) {
+        downTime = SystemClock.uptimeMillis();
+        dispatch(MotionEvent.ACTION_DOWN, x);
+    }
+
+    /**
+     * Move in small steps, like a real finger does.
+     */
+    private void moveTo(float x) {
+        float fromX = lastX;
+        int steps = 10;
+        for(int i = 1; i <= steps; i++) {
+            dispatch(MotionEvent.ACTION_MOVE, fromX + (x - fromX) * i / steps);
+        }
+    }
+
+    private void up(float x) {
+        dispatch(MotionEvent.ACTION_UP, x);
+    }
+
+    private void dispatch(int action, float x) {
+        lastX = x;
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x,
+                HEIGHT / 2f, 0);
+        swipeLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ayvytr.swipelayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM tests of {@link SwipeSpring}.
+ */
+public class SwipeSpringTest {
+    private static final float FRAME_SECONDS = 1 / 60f;
+    private static final int MAX_FRAMES = 600;
+    private static final float TARGET = 100f;
+
+    private static final float UNDER_DAMPED = 0.5f;
+    private static final float CRITICALLY_DAMPED = 1f;
+    private static final float OVER_DAMPED = 2f;
+
+    @Test
+    public void restsAtTarget() {
+        SwipeSpring spring = new SwipeSpring();
+        spring.start(TARGET, TARGET, 0);
+
+        assertTrue(spring.isAtRest());
+        assertFalse(spring.update(FRAME_SECONDS));
+        assertEquals(TARGET, spring.getPosition(), 0f);
+    }
+
+    @Test
+    public void underDampedConvergesToTarget() {
+        assertConvergesToTarget(UNDER_DAMPED, 0);
+        assertConvergesToTarget(UNDER_DAMPED, -2000);
+    }
+
+    @Test
+    public void criticallyDampedConvergesToTarget() {
+        assertConvergesToTarget(CRITICALLY_DAMPED, 0);
+        assertConvergesToTarget(CRITICALLY_DAMPED, 2000);
+    }
+
+    @Test
+    public void overDampedConvergesToTarget() {
+        assertConvergesToTarget(OVER_DAMPED, 0);
+        assertConvergesToTarget(OVER_DAMPED, 2000);
+    }
+
+    @Test
+    public void underDampedOvershoots() {
+        assertTrue(maxPosition(UNDER_DAMPED) > TARGET + 1);
+    }
+
+    @Test
+    public void criticallyDampedDoesNotOvershoot() {
+        assertTrue(maxPosition(CRITICALLY_DAMPED) <= TARGET);
+    }
+
+    @Test
+    public void overDampedApproachesMonotonically() {
+        SwipeSpring spring = new SwipeSpring(SwipeSpring.STIFFNESS_DEFAULT, OVER_DAMPED);
+        spring.start(0, TARGET, 0);
+
+        float lastPosition = spring.getPosition();
+        for(int i = 0; i < MAX_FRAMES && spring.update(FRAME_SECONDS); i++) {
+            assertTrue(spring.getPosition() >= lastPosition);
+            assertTrue(spring.getPosition() <= TARGET);
+            assertTrue(spring.getVelocity() >= 0);
+            lastPosition = spring.getPosition();
+        }
+        assertEquals(TARGET, spring.getPosition(), 0f);
+    }
+
+    @Test
+    public void startsWithInitialVelocity() {
+        float[] dampingRatios = {UNDER_DAMPED, CRITICALLY_DAMPED, OVER_DAMPED};
+        for(float dampingRatio : dampingRatios) {
+            SwipeSpring spring = new SwipeSpring(SwipeSpring.STIFFNESS_DEFAULT, dampingRatio);
+            spring.start(0, TARGET, 500);
+            assertEquals(500, spring.getVelocity(), 0f);
+
+            spring.update(0.00001f);
+            assertEquals(500, spring.getVelocity(), 2f);
+            assertEquals(0.005f, spring.getPosition(), 0.001f);
+        }
+    }
+
+    @Test
+    public void initialVelocityAwayFromTargetMovesAwayFirst() {
+        SwipeSpring spring = new SwipeSpring(SwipeSpring.STIFFNESS_DEFAULT, OVER_DAMPED);
+        spring.start(TARGET, TARGET, -1000);
+
+        assertTrue(spring.update(FRAME_SECONDS));
+        assertTrue(spring.getPosition() < TARGET);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveStiffness() {
+        new SwipeSpring().setStiffness(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeDampingRatio() {
+        new SwipeSpring().setDampingRatio(-1);
+    }
+
+    private static void assertConvergesToTarget(float dampingRatio, float velocity) {
+        SwipeSpring spring = new SwipeSpring(SwipeSpring.STIFFNESS_DEFAULT, dampingRatio);
+        spring.start(0, TARGET, velocity);
+
+        int frames = 0;
+        while(spring.update(FRAME_SECONDS)) {
+            assertTrue("spring didn't come to rest", ++frames < MAX_FRAMES);
+        }
+        assertEquals(TARGET, spring.getPosition(), 0f);
+        assertEquals(0, spring.getVelocity(), 0f);
+    }
+
+    private static float maxPosition(float dampingRatio) {
+        SwipeSpring spring = new SwipeSpring(SwipeSpring.STIFFNESS_DEFAULT, dampingRatio);
+        spring.start(0, TARGET, 0);
+
+        float max = spring.getPosition();
+        for(int i = 0; i < MAX_FRAMES && spring.update(FRAME_SECONDS); i++) {
+            max = Math.max(max, spring.getPosition());
+        }
+        return max;
+    }
+}